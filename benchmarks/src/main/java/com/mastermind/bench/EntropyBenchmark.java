@@ -0,0 +1,63 @@
+package com.mastermind.bench;
+
+import com.mastermind.CandidateSet;
+import com.mastermind.CodeSpace;
+import com.mastermind.EntropyHintStrategy;
+import com.mastermind.MaxEntropyStrategy;
+import com.mastermind.PackedScorer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// One max-entropy decision after a first guess: the scalar strategy (score and
+// histogram one pair at a time) vs the batched hint engine, both single-threaded.
+// 6x4 has a score table, which both use; 7x5 and 8x5 are scored on the fly.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntropyBenchmark {
+
+    @Param({"6x4", "7x5", "8x5"})
+    public String size;
+
+    private CodeSpace space;
+    private int[] candidates;
+    private final MaxEntropyStrategy scalar = new MaxEntropyStrategy();
+    private final EntropyHintStrategy batched = new EntropyHintStrategy(false);
+
+    @Setup
+    public void setUp() {
+        String[] parts = size.split("x");
+        space = CodeSpace.of(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        // Candidates left after one guess against a fixed secret
+        int guess = space.codeAt(space.size() / 3);
+        int secret = space.codeAt(space.size() / 2);
+        CandidateSet set = new CandidateSet(space);
+        set.narrow(guess, PackedScorer.score(guess, secret, space.pegs()));
+        candidates = new int[set.cardinality()];
+        set.toArray(candidates);
+    }
+
+    @Benchmark
+    public int scalar() {
+        return scalar.chooseGuess(space, candidates, candidates.length);
+    }
+
+    @Benchmark
+    public int batched() {
+        return batched.chooseGuess(space, candidates, candidates.length);
+    }
+}
@@ -0,0 +1,26 @@
+package com.mastermind.bench;
+
+import java.awt.Color;
+
+// Palettes of any size for parameterized benchmarks
+final class Palettes {
+
+    private Palettes() {
+    }
+
+    static Color[] colors(int size) {
+        Color[] palette = new Color[size];
+        for (int i = 0; i < size; i++) {
+            palette[i] = Color.getHSBColor(i / (float) size, 0.8f, 0.9f);
+        }
+        return palette;
+    }
+
+    static String[] labels(int size) {
+        String[] labels = new String[size];
+        for (int i = 0; i < size; i++) {
+            labels[i] = String.valueOf((char) ('A' + i));
+        }
+        return labels;
+    }
+}
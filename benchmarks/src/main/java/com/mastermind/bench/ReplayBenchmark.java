@@ -0,0 +1,92 @@
+package com.mastermind.bench;
+
+import com.mastermind.CodeSpace;
+import com.mastermind.GameLogReader;
+import com.mastermind.GameLogWriter;
+import com.mastermind.GameModel;
+import com.mastermind.MinimaxStrategy;
+import com.mastermind.Solver;
+import com.mastermind.TranspositionCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Headless replay of recorded games through GameModel: every minimax game of
+// 6x4, replayed event by event, and replayed then rewound and fast-forwarded.
+// Reported per game; the GC profiler shows the allocation rate stays at zero.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReplayBenchmark {
+
+    private static final int GAMES = 1296;
+
+    private Path file;
+    private GameLogReader reader;
+    private GameModel model;
+
+    @Setup
+    public void setUp() throws IOException {
+        CodeSpace space = CodeSpace.of(6, 4);
+        file = Files.createTempFile("replay", ".log");
+        Solver solver = new Solver(space, new MinimaxStrategy(false), new TranspositionCache(1 << 12));
+        try (GameLogWriter log = new GameLogWriter(file, space)) {
+            for (int secret = 0; secret < GAMES; secret++) {
+                solver.solve(secret, 10);
+                solver.writeTo(log, secret);
+            }
+        }
+        reader = new GameLogReader(file);
+        model = new GameModel(10, 4, 6);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int replay() {
+        int won = 0;
+        reader.rewind();
+        while (reader.next()) {
+            reader.replayInto(model);
+            won += model.isWon() ? 1 : 0;
+        }
+        return won;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int replayRewindFastForward() {
+        int rows = 0;
+        reader.rewind();
+        while (reader.next()) {
+            reader.replayInto(model);
+            int end = model.position();
+            model.seek(0);
+            model.seek(end);
+            rows += model.currentRow();
+        }
+        return rows;
+    }
+}
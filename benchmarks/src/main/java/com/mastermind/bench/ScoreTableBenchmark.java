@@ -0,0 +1,73 @@
+package com.mastermind.bench;
+
+import com.mastermind.CodeSpace;
+import com.mastermind.PackedScorer;
+import com.mastermind.ScoreTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// One guess scored against every code of the space: table lookup vs packed scoring.
+// Only sizes whose table fits the default memory cap.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreTableBenchmark {
+
+    @Param({"6", "8"})
+    public int colors;
+
+    @Param({"4"})
+    public int pegs;
+
+    private CodeSpace space;
+    private ScoreTable table;
+    private int[] codes;
+    private int guess;
+
+    @Setup
+    public void setUp() {
+        space = CodeSpace.of(colors, pegs);
+        table = ScoreTable.forSpace(space);
+        codes = space.codes();
+    }
+
+    @Benchmark
+    public int lookupRow() {
+        int g = guess++ % codes.length;
+        int sum = 0;
+        for (int s = 0; s < codes.length; s++) {
+            sum += table.score(g, s);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int computeRow() {
+        int g = codes[guess++ % codes.length];
+        long guessCounts = PackedScorer.colorCounts(g, pegs);
+        int sum = 0;
+        for (int s = 0; s < codes.length; s++) {
+            sum += PackedScorer.score(g, guessCounts, codes[s], pegs);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public ScoreTable buildParallel() {
+        return ScoreTable.build(space, true);
+    }
+}
@@ -0,0 +1,88 @@
+package com.mastermind.bench;
+
+import com.mastermind.MasterMindLogic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Hot paths of MasterMindLogic: scoring through the Color[] adapter, the
+// packed engine one guess at a time and in one batch call (reported per
+// guess), secret generation and secret formatting.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmark {
+
+    private static final int GUESSES = 1024;
+
+    @Param({"6", "8", "10"})
+    public int colors;
+
+    @Param({"4", "5", "6"})
+    public int pegs;
+
+    private MasterMindLogic logic;
+    private Color[][] guesses;
+    private int[] packedGuesses;
+    private int[] scores;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Color[] palette = Palettes.colors(colors);
+        logic = new MasterMindLogic(palette, pegs, Palettes.labels(colors));
+        guesses = new Color[GUESSES][pegs];
+        packedGuesses = new int[GUESSES];
+        scores = new int[GUESSES];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int g = 0; g < GUESSES; g++) {
+            for (int i = 0; i < pegs; i++) {
+                guesses[g][i] = palette[random.nextInt(colors)];
+            }
+            packedGuesses[g] = logic.encode(guesses[g]);
+        }
+    }
+
+    @Benchmark
+    public MasterMindLogic.Result checkGuess() {
+        return logic.checkGuess(guesses[next++ & (GUESSES - 1)]);
+    }
+
+    @Benchmark
+    public int scorePacked() {
+        return logic.scoreGuess(packedGuesses[next++ & (GUESSES - 1)]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GUESSES)
+    public int[] scoreBatch() {
+        logic.scoreGuesses(packedGuesses, GUESSES, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public Color[] generateSecret() {
+        return logic.generateSecret(pegs);
+    }
+
+    @Benchmark
+    public String showSecret() {
+        return logic.showSecret();
+    }
+}
@@ -0,0 +1,53 @@
+package com.mastermind.bench;
+
+import com.mastermind.CodeSpace;
+import com.mastermind.MinimaxStrategy;
+import com.mastermind.Solver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Solver throughput: full minimax games against a rotating secret
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+
+    @Param({"5", "6"})
+    public int colors;
+
+    @Param({"4"})
+    public int pegs;
+
+    @Param({"true", "false"})
+    public boolean parallel;
+
+    private CodeSpace space;
+    private Solver solver;
+    private int secret;
+
+    @Setup
+    public void setUp() {
+        space = CodeSpace.of(colors, pegs);
+        solver = new Solver(space, new MinimaxStrategy(parallel));
+    }
+
+    @Benchmark
+    public int solveGame() {
+        secret = (secret + 97) % space.size();
+        return solver.solve(secret, 10);
+    }
+}
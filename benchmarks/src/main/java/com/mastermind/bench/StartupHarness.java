@@ -0,0 +1,82 @@
+package com.mastermind.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Time to first frame of the game, measured from outside: launches a fresh JVM
+// per run with -Dmastermind.startup.probe=true and stops the clock when the game
+// prints its first-frame line. Compares the eager window (everything built
+// before showing it), the fast start, and the fast start with the CDS archive
+// made by mvn package -Pcds when it sits next to the jar. Needs a display.
+// Usage: StartupHarness <game jar> [runs]
+public class StartupHarness {
+
+    private static final long RUN_TIMEOUT_SECONDS = 60;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: StartupHarness <game jar> [runs]");
+            System.exit(1);
+        }
+        Path jar = Path.of(args[0]).toAbsolutePath();
+        int runs = args.length == 2 ? Integer.parseInt(args[1]) : 10;
+        Path archive = jar.resolveSibling("mastermind.jsa");
+
+        measure("eager", jar, runs, "-Dmastermind.startup=eager");
+        measure("fast", jar, runs, "-Dmastermind.startup=fast");
+        if (Files.exists(archive)) {
+            measure("fast+cds", jar, runs, "-Dmastermind.startup=fast", "-XX:SharedArchiveFile=" + archive);
+        } else {
+            System.out.println("fast+cds: skipped, no " + archive + " (run mvn package -Pcds)");
+        }
+    }
+
+    private static void measure(String name, Path jar, int runs, String... flags)
+            throws IOException, InterruptedException {
+        // One discarded run warms the OS file cache
+        launch(jar, flags);
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = launch(jar, flags);
+        }
+        Arrays.sort(millis);
+        System.out.printf("%-9s median %5d ms  min %5d ms  max %5d ms  (%d runs)%n", name, millis[runs / 2],
+                millis[0], millis[runs - 1], runs);
+    }
+
+    // Milliseconds from process start until the game reports its first frame
+    private static long launch(Path jar, String... flags) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(flags));
+        command.add("-Dmastermind.startup.probe=true");
+        command.add("-jar");
+        command.add(jar.toString());
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long elapsed = -1;
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                if (elapsed < 0 && line.startsWith("first-frame")) {
+                    elapsed = (System.nanoTime() - start) / 1_000_000;
+                }
+            }
+        }
+        if (!process.waitFor(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+        if (elapsed < 0) {
+            throw new IllegalStateException("The game exited without opening a window; is there a display?");
+        }
+        return elapsed;
+    }
+}
@@ -0,0 +1,97 @@
+package com.mastermind;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Scores one code against many in a single call, writing packed black/white
+// scores into a caller-supplied array: no Result objects, and the fixed code's
+// color counts are computed once. Scoring is symmetric, so the same loop
+// serves one guess against many secrets and many guesses against one secret.
+// Batches of PARALLEL_THRESHOLD codes or more are split across the common
+// fork/join pool. To score one set of codes against many guesses, CodeBatch
+// also keeps the set's color counts between calls.
+public final class BatchScorer {
+
+    // Batches at least this large are scored on every core
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private BatchScorer() {
+    }
+
+    // Packed score of the guess against each of the first count packed secrets, into out
+    public static void scoreSecrets(int guess, int[] secrets, int count, int[] out, int pegs) {
+        run(new Range(null, null, guess, PackedScorer.colorCounts(guess, pegs), pegs, secrets, out, 0, count));
+    }
+
+    // Packed score of each of the first count packed guesses against the secret, into out
+    public static void scoreGuesses(int[] guesses, int count, int secret, int[] out, int pegs) {
+        run(new Range(null, null, secret, PackedScorer.colorCounts(secret, pegs), pegs, guesses, out, 0, count));
+    }
+
+    // Packed score of a guess index against each of the first count code indices,
+    // into out; reads the space's score table when it has one
+    public static void scoreIndices(CodeSpace space, int guess, int[] indices, int count, int[] out) {
+        int guessCode = space.codeAt(guess);
+        run(new Range(space, ScoreTable.forSpace(space), guess, PackedScorer.colorCounts(guessCode, space.pegs()),
+                space.pegs(), indices, out, 0, count));
+    }
+
+    private static void run(Range range) {
+        if (range.to - range.from >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(range);
+        } else {
+            range.compute();
+        }
+    }
+
+    // Scores codes[from..to) against the fixed code. With a space, codes are
+    // indices and fixed is an index too.
+    private static final class Range extends RecursiveAction {
+        private final CodeSpace space;
+        private final ScoreTable table;
+        private final int fixed;
+        private final long fixedCounts;
+        private final int pegs;
+        private final int[] codes;
+        private final int[] out;
+        private final int from;
+        private final int to;
+
+        Range(CodeSpace space, ScoreTable table, int fixed, long fixedCounts, int pegs, int[] codes, int[] out,
+              int from, int to) {
+            this.space = space;
+            this.table = table;
+            this.fixed = fixed;
+            this.fixedCounts = fixedCounts;
+            this.pegs = pegs;
+            this.codes = codes;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from >= PARALLEL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Range(space, table, fixed, fixedCounts, pegs, codes, out, from, mid),
+                        new Range(space, table, fixed, fixedCounts, pegs, codes, out, mid, to));
+                return;
+            }
+            if (table != null) {
+                for (int i = from; i < to; i++) {
+                    out[i] = table.score(fixed, codes[i]);
+                }
+            } else if (space != null) {
+                int fixedCode = space.codeAt(fixed);
+                for (int i = from; i < to; i++) {
+                    out[i] = PackedScorer.score(fixedCode, fixedCounts, space.codeAt(codes[i]), pegs);
+                }
+            } else {
+                for (int i = from; i < to; i++) {
+                    out[i] = PackedScorer.score(fixed, fixedCounts, codes[i], pegs);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.mastermind;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Headless entry point: plays many solver games across all cores and streams
+// aggregate statistics. Works only with packed codes, never with AWT.
+// Deterministic strategies share a transposition cache across the workers, so
+// after warm-up most decisions are lookups; its hit rate is printed at the end.
+// Usage: BatchSimulation <colors> <secretLength> <rounds> <minimax|entropy|expected|random> <games> [seed [log]]
+public class BatchSimulation {
+
+    // Games played by one task before the pool can steal the rest
+    private static final int CHUNK = 256;
+    // Cached decisions (8 bytes each)
+    private static final int CACHE_ENTRIES = 1 << 16;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5 || args.length > 7) {
+            System.err.println("Usage: BatchSimulation <colors> <secretLength> <rounds>"
+                    + " <minimax|entropy|expected|random> <games> [seed [log]]");
+            System.exit(1);
+        }
+        SecretGenerator secrets = args.length >= 6
+                ? SecretGenerator.seeded(Long.parseLong(args[5]))
+                : SecretGenerator.random();
+        CodeSpace space = CodeSpace.of(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+        try (GameLogWriter log = args.length == 7 ? new GameLogWriter(Paths.get(args[6]), space) : null) {
+            SimulationStats stats = run(space.colors(), space.pegs(), Integer.parseInt(args[2]),
+                    GuessStrategy.named(args[3]), Long.parseLong(args[4]), secrets, log, System.out);
+            System.out.println("final " + stats);
+            if (EngineMetrics.ENABLED) {
+                System.out.println("metrics " + EngineMetrics.global());
+            }
+        }
+    }
+
+    // Plays the games on a work-stealing pool, printing a progress line every second.
+    // With a seeded generator game n always gets the same secret, whichever thread plays it,
+    // and a random strategy makes the same choices in it.
+    public static SimulationStats run(int colors, int secretLength, int rounds, GuessStrategy strategy, long games,
+                                      SecretGenerator secrets, PrintStream out) throws Exception {
+        return run(colors, secretLength, rounds, strategy, games, secrets, null, out);
+    }
+
+    // Same as above, also appending every game to the log when it is not null
+    public static SimulationStats run(int colors, int secretLength, int rounds, GuessStrategy strategy, long games,
+                                      SecretGenerator secrets, GameLogWriter log, PrintStream out) throws Exception {
+        CodeSpace space = CodeSpace.of(colors, secretLength);
+        SimulationStats stats = new SimulationStats(rounds);
+        // Build the shared table once, before the workers race for it
+        ScoreTable.forSpace(space);
+        TranspositionCache cache = strategy.isDeterministic() ? new TranspositionCache(CACHE_ENTRIES) : null;
+
+        ExecutorService pool = Executors.newWorkStealingPool();
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "simulation-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> out.println(stats), 1, 1, TimeUnit.SECONDS);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (long first = 0; first < games; first += CHUNK) {
+                long count = Math.min(CHUNK, games - first);
+                long start = first;
+                tasks.add(pool.submit(() -> {
+                    playGames(space, strategy, cache, rounds, secrets, start, count, stats, log);
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            if (cache != null) {
+                out.println("cache " + cache);
+            }
+        } finally {
+            reporter.shutdownNow();
+            pool.shutdown();
+        }
+        return stats;
+    }
+
+    private static void playGames(CodeSpace space, GuessStrategy strategy, TranspositionCache cache, int rounds,
+                                  SecretGenerator secrets, long first, long count, SimulationStats stats,
+                                  GameLogWriter log) throws IOException {
+        // A seeded run gives each game its own random strategy seed, so the chunk's thread does not matter
+        RandomConsistentStrategy seeded = strategy instanceof RandomConsistentStrategy && secrets.isSeeded()
+                ? new RandomConsistentStrategy(0) : null;
+        Solver solver = new Solver(space, seeded != null ? seeded : strategy, cache);
+        for (long game = first; game < first + count; game++) {
+            int secret = secrets.secretFor(space, game);
+            if (seeded != null) {
+                seeded.reseed(secrets.seedFor(game));
+            }
+            stats.record(solver.solve(secret, rounds));
+            if (log != null) {
+                solver.writeTo(log, secret);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.mastermind;
+
+import javax.swing.JComponent;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
+import java.util.Objects;
+
+// Whole game board painted by one component: for every round, the feedback
+// pins on the left and the guess slots on the right, laid out like the old
+// per-slot buttons (pins in a 2-row grid, 50px gaps, 35px slots 5px apart).
+// Clicks are mapped from coordinates to (row, slot) and color changes only
+// repaint the circle that changed. A row's colors are only stored once one of
+// them changes, so an empty board costs the same whatever its size.
+public class BoardComponent extends JComponent {
+
+    private static final int PIN_SIZE = 10;
+    private static final int GUESS_SIZE = 35;
+    private static final int GAP = 5;
+    private static final int ROW_GAP = 50;
+
+    private final int ROWS;
+    private final int PEGS;
+    private final Color BG_COLOR;
+    private final Color EMPTY;
+    // Colors per row, null while the whole row is still empty
+    private final Color[][] slots;
+    private final Color[][] pins;
+
+    // Geometry shared by every row
+    private final int PIN_COLUMNS;
+    private final int PIN_WIDTH;
+    private final int PIN_HEIGHT;
+    private final int GUESS_X;
+    private final int ROW_HEIGHT;
+    private final int WIDTH;
+
+    private SlotListener listener;
+
+    // Receives clicks on guess slots
+    public interface SlotListener {
+        void slotClicked(int row, int slot);
+    }
+
+    public BoardComponent(int rows, int pegs, Color background, Color empty) {
+        this.ROWS = rows;
+        this.PEGS = pegs;
+        this.BG_COLOR = background;
+        this.EMPTY = empty;
+        this.slots = new Color[rows][];
+        this.pins = new Color[rows][];
+
+        PIN_COLUMNS = (pegs + 1) / 2;
+        PIN_WIDTH = PIN_COLUMNS * PIN_SIZE + (PIN_COLUMNS - 1) * GAP;
+        PIN_HEIGHT = 2 * PIN_SIZE + GAP;
+        GUESS_X = ROW_GAP + PIN_WIDTH + ROW_GAP;
+        ROW_HEIGHT = GUESS_SIZE + 2 * GAP;
+        WIDTH = GUESS_X + pegs * GUESS_SIZE + (pegs + 1) * GAP + ROW_GAP;
+
+        setOpaque(true);
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                int hit = slotAt(e.getX(), e.getY());
+                if (hit >= 0 && listener != null) {
+                    listener.slotClicked(hit / PEGS, hit % PEGS);
+                }
+            }
+        });
+    }
+
+    public void setSlotListener(SlotListener listener) {
+        this.listener = listener;
+    }
+
+    public int rows() {
+        return ROWS;
+    }
+
+    public int pegs() {
+        return PEGS;
+    }
+
+    public Color getSlotColor(int row, int slot) {
+        return colorAt(slots, row, slot);
+    }
+
+    public void setSlotColor(int row, int slot, Color color) {
+        rowOf(slots, row)[slot] = color;
+        repaint(slotBounds(row, slot));
+    }
+
+    public Color getPinColor(int row, int pin) {
+        return colorAt(pins, row, pin);
+    }
+
+    public void setPinColor(int row, int pin, Color color) {
+        rowOf(pins, row)[pin] = color;
+        repaint(pinBounds(row, pin));
+    }
+
+    private Color colorAt(Color[][] grid, int row, int index) {
+        Objects.checkIndex(index, PEGS);
+        return grid[row] == null ? EMPTY : grid[row][index];
+    }
+
+    // Row of the grid, created empty on first write
+    private Color[] rowOf(Color[][] grid, int row) {
+        if (grid[row] == null) {
+            grid[row] = new Color[PEGS];
+            Arrays.fill(grid[row], EMPTY);
+        }
+        return grid[row];
+    }
+
+    // Rows are centered when the component is wider than needed, like the old FlowLayout rows
+    private int left() {
+        return Math.max(0, (getWidth() - WIDTH) / 2);
+    }
+
+    // Area covered by a guess slot
+    public Rectangle slotBounds(int row, int slot) {
+        return new Rectangle(left() + GUESS_X + GAP + slot * (GUESS_SIZE + GAP), row * ROW_HEIGHT + GAP,
+                GUESS_SIZE, GUESS_SIZE);
+    }
+
+    // Area covered by a feedback pin; pins fill the 2-row grid row by row
+    public Rectangle pinBounds(int row, int pin) {
+        int top = row * ROW_HEIGHT + (ROW_HEIGHT - PIN_HEIGHT) / 2;
+        return new Rectangle(left() + ROW_GAP + (pin % PIN_COLUMNS) * (PIN_SIZE + GAP),
+                top + (pin / PIN_COLUMNS) * (PIN_SIZE + GAP), PIN_SIZE, PIN_SIZE);
+    }
+
+    // Slot under a point as row * pegs + slot, or -1 if the point is not on a slot
+    public int slotAt(int x, int y) {
+        int row = y / ROW_HEIGHT;
+        int column = x - left() - GUESS_X - GAP;
+        if (y < 0 || row >= ROWS || column < 0) {
+            return -1;
+        }
+        int slot = column / (GUESS_SIZE + GAP);
+        if (slot >= PEGS || column % (GUESS_SIZE + GAP) >= GUESS_SIZE) {
+            return -1;
+        }
+        int rowY = y - row * ROW_HEIGHT - GAP;
+        if (rowY < 0 || rowY >= GUESS_SIZE) {
+            return -1;
+        }
+        return row * PEGS + slot;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(WIDTH, ROWS * ROW_HEIGHT);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(BG_COLOR);
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        // Only the rows inside the dirty region
+        int first = Math.max(0, clip.y / ROW_HEIGHT);
+        int last = Math.min(ROWS - 1, (clip.y + clip.height) / ROW_HEIGHT);
+        for (int row = first; row <= last; row++) {
+            for (int i = 0; i < PEGS; i++) {
+                fillCircle(g, colorAt(pins, row, i), pinBounds(row, i));
+                fillCircle(g, colorAt(slots, row, i), slotBounds(row, i));
+            }
+        }
+    }
+
+    private static void fillCircle(Graphics g, Color color, Rectangle bounds) {
+        g.setColor(color);
+        g.fillOval(bounds.x, bounds.y, bounds.width, bounds.height);
+    }
+}
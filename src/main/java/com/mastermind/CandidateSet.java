@@ -0,0 +1,133 @@
+package com.mastermind;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Codes still consistent with every scored guess, as a bitset over code indices.
+// Each narrow call clears the codes that would have scored differently,
+// so the set shrinks in place without rebuilding any list.
+public final class CandidateSet {
+
+    private final CodeSpace SPACE;
+    private final long[] WORDS;
+    private int cardinality;
+
+    // Starts with every code of the space
+    public CandidateSet(CodeSpace space) {
+        this.SPACE = space;
+        this.WORDS = new long[(space.size() + 63) >>> 6];
+        reset();
+    }
+
+    public void reset() {
+        int size = SPACE.size();
+        Arrays.fill(WORDS, -1L);
+        if ((size & 63) != 0) {
+            WORDS[WORDS.length - 1] = (1L << size) - 1;
+        }
+        cardinality = size;
+    }
+
+    // Drops the codes the variant rules out, e.g. repeated colors
+    public void retainAllowed(Variant variant) {
+        if (variant.allowsRepeats()) {
+            return;
+        }
+        int remaining = 0;
+        for (int w = 0; w < WORDS.length; w++) {
+            long word = WORDS[w];
+            long kept = word;
+            while (word != 0) {
+                long bit = word & -word;
+                if (!variant.isAllowed(SPACE.codeAt((w << 6) + Long.numberOfTrailingZeros(word)))) {
+                    kept &= ~bit;
+                }
+                word ^= bit;
+            }
+            WORDS[w] = kept;
+            remaining += Long.bitCount(kept);
+        }
+        cardinality = remaining;
+    }
+
+    // Keeps only the codes that score the packed guess with this packed score
+    public void narrow(int guessCode, int score) {
+        int pegs = SPACE.pegs();
+        ScoreTable table = ScoreTable.forSpace(SPACE);
+        int guessIndex = SPACE.indexOf(guessCode);
+        long guessCounts = PackedScorer.colorCounts(guessCode, pegs);
+        int remaining = 0;
+
+        for (int w = 0; w < WORDS.length; w++) {
+            long word = WORDS[w];
+            long kept = word;
+            while (word != 0) {
+                long bit = word & -word;
+                int index = (w << 6) + Long.numberOfTrailingZeros(word);
+                int candidateScore = table != null
+                        ? table.score(guessIndex, index)
+                        : PackedScorer.score(guessCode, guessCounts, SPACE.codeAt(index), pegs);
+                if (candidateScore != score) {
+                    kept &= ~bit;
+                }
+                word ^= bit;
+            }
+            WORDS[w] = kept;
+            remaining += Long.bitCount(kept);
+        }
+        cardinality = remaining;
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean contains(int index) {
+        return (WORDS[index >>> 6] & (1L << index)) != 0;
+    }
+
+    // First candidate index at or after from, or -1 if there is none
+    public int nextSetBit(int from) {
+        int w = from >>> 6;
+        if (w >= WORDS.length) {
+            return -1;
+        }
+        long word = WORDS[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == WORDS.length) {
+                return -1;
+            }
+            word = WORDS[w];
+        }
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int w = 0; w < WORDS.length; w++) {
+            long word = WORDS[w];
+            while (word != 0) {
+                action.accept((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    // Copies the candidate indices in ascending order, returning how many were written
+    public int toArray(int[] out) {
+        int n = 0;
+        for (int w = 0; w < WORDS.length; w++) {
+            long word = WORDS[w];
+            while (word != 0) {
+                out[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return n;
+    }
+
+    public CodeSpace space() {
+        return SPACE;
+    }
+}
@@ -0,0 +1,302 @@
+package com.mastermind;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Codes consistent with the guesses so far, for spaces too large to hold as a
+// candidate list or bitset (12 colors x 8 pegs is 430M codes). Only the guess
+// history is stored; codes are enumerated lazily in index order and checked
+// against it. scan() walks the whole space in parallel chunks and keeps just
+// the count and a bounded uniform sample: every code gets a pseudo-random
+// priority and the sample is the codes with the lowest priorities, so chunk
+// results merge exactly. Memory stays at the sample size whatever the space.
+public final class CandidateStream {
+
+    // Spaces larger than this are better streamed than materialized (64 MB as an int list)
+    static final int STREAM_ABOVE = 1 << 24;
+    // Codes checked by one fork/join leaf
+    private static final int CHUNK = 1 << 18;
+
+    private final CodeSpace SPACE;
+    private final Variant VARIANT;
+    private final int SEED;
+
+    // Packed guesses, their color counts and scores, in order
+    private int[] guesses = new int[16];
+    private long[] guessCounts = new long[16];
+    private int[] scores = new int[16];
+    private int history;
+
+    // Every code of the space, or only those the variant allows when it is not null
+    public CandidateStream(CodeSpace space, Variant variant) {
+        this(space, variant, ThreadLocalRandom.current().nextInt());
+    }
+
+    // Fixed seed, for reproducible samples
+    public CandidateStream(CodeSpace space, Variant variant, int seed) {
+        this.SPACE = space;
+        this.VARIANT = variant;
+        this.SEED = seed;
+    }
+
+    // True if the space is too large to hold its candidates in memory comfortably
+    public static boolean isNeeded(CodeSpace space) {
+        return space.size() > STREAM_ABOVE;
+    }
+
+    // Keeps only the codes that score the packed guess with this packed score
+    public synchronized void narrow(int guessCode, int score) {
+        if (history == guesses.length) {
+            guesses = Arrays.copyOf(guesses, history * 2);
+            guessCounts = Arrays.copyOf(guessCounts, history * 2);
+            scores = Arrays.copyOf(scores, history * 2);
+        }
+        guesses[history] = guessCode;
+        guessCounts[history] = PackedScorer.colorCounts(guessCode, SPACE.pegs());
+        scores[history] = score;
+        history++;
+    }
+
+    // Scored guesses so far
+    public synchronized int guesses() {
+        return history;
+    }
+
+    public CodeSpace space() {
+        return SPACE;
+    }
+
+    // Consistent code indices in ascending order, enumerated lazily
+    public PrimitiveIterator.OfInt iterator() {
+        Filter filter = snapshot();
+        return new PrimitiveIterator.OfInt() {
+            private final Cursor cursor = new Cursor(0);
+            private int index = -1;
+            private int next = advance();
+
+            private int advance() {
+                while (++index < SPACE.size()) {
+                    if (index > 0) {
+                        cursor.next();
+                    }
+                    if (filter.accepts(cursor.code, cursor.counts)) {
+                        return index;
+                    }
+                }
+                return -1;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                int result = next;
+                next = advance();
+                return result;
+            }
+        };
+    }
+
+    // Counts the consistent codes and samples up to sampleSize of them, in parallel
+    public Scan scan(int sampleSize) {
+        Filter filter = snapshot();
+        return ForkJoinPool.commonPool().invoke(new ScanTask(filter, sampleSize, 0, SPACE.size()));
+    }
+
+    private synchronized Filter snapshot() {
+        return new Filter(Arrays.copyOf(guesses, history), Arrays.copyOf(guessCounts, history),
+                Arrays.copyOf(scores, history));
+    }
+
+    // Result of a scan: how many codes are consistent and a sample of their indices
+    public static final class Scan {
+        private final int COUNT;
+        // Sampled indices, ascending
+        private final int[] SAMPLE;
+
+        Scan(int count, int[] sample) {
+            this.COUNT = count;
+            this.SAMPLE = sample;
+        }
+
+        public int count() {
+            return COUNT;
+        }
+
+        public int[] sample() {
+            return SAMPLE;
+        }
+
+        // True if the sample holds every consistent code
+        public boolean isComplete() {
+            return SAMPLE.length == COUNT;
+        }
+    }
+
+    // The history at the time of a scan, so narrow may run during one
+    private final class Filter {
+        private final int[] guesses;
+        private final long[] guessCounts;
+        private final int[] blacks;
+        private final int[] common;
+        private final int pegs = SPACE.pegs();
+
+        Filter(int[] guesses, long[] guessCounts, int[] scores) {
+            this.guesses = guesses;
+            this.guessCounts = guessCounts;
+            this.blacks = new int[scores.length];
+            this.common = new int[scores.length];
+            for (int i = 0; i < scores.length; i++) {
+                blacks[i] = PackedScorer.blacksOf(scores[i]);
+                common[i] = blacks[i] + PackedScorer.whitesOf(scores[i]);
+            }
+        }
+
+        // True if the code with these color counts scores every guess as recorded.
+        // Blacks are compared first: they are cheaper and reject most codes.
+        boolean accepts(int code, long counts) {
+            for (int i = 0; i < guesses.length; i++) {
+                if (PackedScorer.blacks(guesses[i], code, pegs) != blacks[i]
+                        || PackedScorer.matches(guessCounts[i], counts) != common[i]) {
+                    return false;
+                }
+            }
+            return VARIANT == null || VARIANT.isAllowed(code);
+        }
+    }
+
+    // Walks codes in index order like an odometer: peg 0 turns fastest. The
+    // color counts are updated with each step instead of recounted.
+    private final class Cursor {
+        private final int pegs = SPACE.pegs();
+        private final int colors = SPACE.colors();
+        int code;
+        long counts;
+
+        Cursor(int index) {
+            code = SPACE.codeAt(index);
+            counts = PackedScorer.colorCounts(code, pegs);
+        }
+
+        void next() {
+            for (int shift = 0; shift < pegs << 2; shift += 4) {
+                int peg = (code >>> shift) & 0xF;
+                counts -= 1L << (peg << 2);
+                if (peg + 1 < colors) {
+                    code += 1 << shift;
+                    counts += 1L << ((peg + 1) << 2);
+                    return;
+                }
+                code &= ~(0xF << shift);
+                counts += 1;
+            }
+        }
+    }
+
+    // Scans indices [from, to); splits until a chunk is small enough
+    private final class ScanTask extends RecursiveTask<Scan> {
+        private final Filter filter;
+        private final int sampleSize;
+        private final int from;
+        private final int to;
+
+        ScanTask(Filter filter, int sampleSize, int from, int to) {
+            this.filter = filter;
+            this.sampleSize = sampleSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Scan compute() {
+            if (to - from > CHUNK) {
+                int mid = (from + to) >>> 1;
+                ScanTask right = new ScanTask(filter, sampleSize, mid, to);
+                right.fork();
+                Scan left = new ScanTask(filter, sampleSize, from, mid).compute();
+                return merge(left, right.join());
+            }
+            // Sample keys are priority << 32 | index; a full buffer is cut back to the lowest sampleSize
+            long[] keys = new long[Math.max(16, Math.min(2 * sampleSize, to - from))];
+            int kept = 0;
+            long cutoff = Long.MAX_VALUE;
+            int count = 0;
+            Cursor cursor = new Cursor(from);
+            for (int index = from; index < to; index++) {
+                if (index > from) {
+                    cursor.next();
+                }
+                if (!filter.accepts(cursor.code, cursor.counts)) {
+                    continue;
+                }
+                count++;
+                long key = (long) priority(index) << 32 | index;
+                if (sampleSize == 0 || key >= cutoff) {
+                    continue;
+                }
+                if (kept == keys.length) {
+                    Arrays.sort(keys, 0, kept);
+                    kept = sampleSize;
+                    cutoff = keys[kept - 1];
+                    if (key >= cutoff) {
+                        continue;
+                    }
+                }
+                keys[kept++] = key;
+            }
+            Arrays.sort(keys, 0, kept);
+            return new Scan(count, toSample(keys, Math.min(kept, sampleSize)));
+        }
+
+        // Joins two chunk results; the lowest priorities of the union are the lowest of both samples
+        private Scan merge(Scan left, Scan right) {
+            int total = left.SAMPLE.length + right.SAMPLE.length;
+            if (total <= sampleSize) {
+                int[] sample = Arrays.copyOf(left.SAMPLE, total);
+                System.arraycopy(right.SAMPLE, 0, sample, left.SAMPLE.length, right.SAMPLE.length);
+                return new Scan(left.COUNT + right.COUNT, sample);
+            }
+            long[] keys = new long[total];
+            int n = 0;
+            for (int index : left.SAMPLE) {
+                keys[n++] = (long) priority(index) << 32 | index;
+            }
+            for (int index : right.SAMPLE) {
+                keys[n++] = (long) priority(index) << 32 | index;
+            }
+            Arrays.sort(keys);
+            return new Scan(left.COUNT + right.COUNT, toSample(keys, sampleSize));
+        }
+
+        // Indices of the first n keys, ascending
+        private int[] toSample(long[] keys, int n) {
+            int[] sample = new int[n];
+            for (int i = 0; i < n; i++) {
+                sample[i] = (int) keys[i];
+            }
+            Arrays.sort(sample);
+            return sample;
+        }
+    }
+
+    // Non-negative pseudo-random priority of an index (murmur3 finalizer)
+    private int priority(int index) {
+        int h = index ^ SEED;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h >>> 1;
+    }
+}
@@ -0,0 +1,71 @@
+package com.mastermind;
+
+import java.util.Arrays;
+
+// A fixed set of packed codes laid out for scoring one guess against all of
+// them at once. Besides the codes, each color keeps its own int[] of per-code
+// counts (structure of arrays), so every loop below is a straight pass over
+// primitive arrays with no branches or table lookups, which the JIT can
+// unroll and auto-vectorize. Blacks use the same nibble folding as
+// PackedScorer, with a multiply instead of bitCount to sum the nibble bits.
+final class CodeBatch {
+
+    private static final int NIBBLE_LOW_BITS = 0x11111111;
+
+    private final int PEGS;
+    private final int SIZE;
+    private final int[] CODES;
+    // COUNTS[color][i]: pegs of that color in code i
+    private final int[][] COUNTS;
+
+    CodeBatch(int colors, int pegs, int[] codes, int size) {
+        this.PEGS = pegs;
+        this.SIZE = size;
+        this.CODES = Arrays.copyOf(codes, size);
+        this.COUNTS = new int[colors][size];
+        for (int i = 0; i < size; i++) {
+            for (int p = 0; p < pegs; p++) {
+                COUNTS[PackedScorer.peg(codes[i], p)][i]++;
+            }
+        }
+    }
+
+    // Batch of the candidate code indices of a space
+    static CodeBatch of(CodeSpace space, int[] candidates, int count) {
+        int[] codes = new int[count];
+        for (int i = 0; i < count; i++) {
+            codes[i] = space.codeAt(candidates[i]);
+        }
+        return new CodeBatch(space.colors(), space.pegs(), codes, count);
+    }
+
+    int size() {
+        return SIZE;
+    }
+
+    // Packed score of the guess against every code, into out[0..size).
+    // common is scratch space of at least size ints.
+    void scoreAll(int guess, int[] common, int[] out) {
+        long guessCounts = PackedScorer.colorCounts(guess, PEGS);
+        Arrays.fill(common, 0, SIZE, 0);
+        for (int c = 0; c < COUNTS.length; c++) {
+            int g = (int) (guessCounts >>> (c << 2)) & 0xF;
+            if (g == 0) {
+                continue;
+            }
+            int[] counts = COUNTS[c];
+            for (int i = 0; i < SIZE; i++) {
+                common[i] += Math.min(g, counts[i]);
+            }
+        }
+        int pegs = PEGS;
+        int[] codes = CODES;
+        for (int i = 0; i < SIZE; i++) {
+            int diff = guess ^ codes[i];
+            diff |= diff >>> 1;
+            diff |= diff >>> 2;
+            int blacks = pegs - (((diff & NIBBLE_LOW_BITS) * NIBBLE_LOW_BITS) >>> 28);
+            out[i] = (blacks << 4) | (common[i] - blacks);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.mastermind;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Every code of a palette size and secret length, numbered densely.
+// The index of a code is its pegs read as a base-colors number (peg 0 is the
+// least significant digit), and codeAt converts it back to a packed code.
+public final class CodeSpace {
+
+    // Largest space whose packed codes are kept in memory (64 MB)
+    private static final int MAX_MATERIALIZED = 1 << 24;
+
+    private static final ConcurrentHashMap<Integer, CodeSpace> SPACES = new ConcurrentHashMap<>();
+
+    private final int COLORS;
+    private final int PEGS;
+    private final int SIZE;
+    private volatile int[] codes;
+
+    private CodeSpace(int colors, int pegs) {
+        if (!PackedScorer.supports(colors, pegs)) {
+            throw new IllegalArgumentException("Unsupported code size: " + colors + " colors, " + pegs + " pegs");
+        }
+        long size = sizeOf(colors, pegs);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Code space too large: " + size);
+        }
+        this.COLORS = colors;
+        this.PEGS = pegs;
+        this.SIZE = (int) size;
+    }
+
+    // True if of(colors, pegs) can be built: packed codes numbered by an int.
+    // 15 and 16 colors x 8 pegs pack, but have more codes than an int can count.
+    public static boolean fits(int colors, int pegs) {
+        return PackedScorer.supports(colors, pegs) && sizeOf(colors, pegs) <= Integer.MAX_VALUE;
+    }
+
+    private static long sizeOf(int colors, int pegs) {
+        long size = 1;
+        for (int i = 0; i < pegs; i++) {
+            size *= colors;
+        }
+        return size;
+    }
+
+    // Shared instance for a palette size and secret length
+    public static CodeSpace of(int colors, int pegs) {
+        return SPACES.computeIfAbsent(colors << 8 | pegs, key -> new CodeSpace(colors, pegs));
+    }
+
+    public int colors() {
+        return COLORS;
+    }
+
+    public int pegs() {
+        return PEGS;
+    }
+
+    public int size() {
+        return SIZE;
+    }
+
+    // Packed code with the given index
+    public int codeAt(int index) {
+        int[] materialized = codes;
+        if (materialized != null) {
+            return materialized[index];
+        }
+        return decode(index);
+    }
+
+    // Index of a packed code
+    public int indexOf(int code) {
+        int index = 0;
+        for (int i = PEGS - 1; i >= 0; i--) {
+            index = index * COLORS + PackedScorer.peg(code, i);
+        }
+        return index;
+    }
+
+    // Every packed code in index order, built once and shared
+    public int[] codes() {
+        int[] materialized = codes;
+        if (materialized == null) {
+            if (SIZE > MAX_MATERIALIZED) {
+                throw new IllegalStateException("Code space too large to materialize: " + SIZE);
+            }
+            materialized = new int[SIZE];
+            for (int i = 0; i < SIZE; i++) {
+                materialized[i] = decode(i);
+            }
+            codes = materialized;
+        }
+        return materialized;
+    }
+
+    private int decode(int index) {
+        int code = 0;
+        for (int i = 0; i < PEGS; i++) {
+            code |= (index % COLORS) << (i << 2);
+            index /= COLORS;
+        }
+        return code;
+    }
+
+    @Override
+    public String toString() {
+        return COLORS + "x" + PEGS;
+    }
+}
@@ -0,0 +1,178 @@
+package com.mastermind;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters and latency histograms of the game engine, exposed over JMX.
+// Enabled with -Dmastermind.metrics=true, which also registers the process-wide
+// instance as com.mastermind:type=EngineMetrics. Instrumented code checks the
+// static final ENABLED flag first, so when metrics are off the JIT removes the
+// calls and the timer reads entirely. All updates go to LongAdders, which
+// stripe under contention instead of fighting over one cache line.
+public final class EngineMetrics implements EngineMetricsMBean {
+
+    public static final boolean ENABLED = Boolean.getBoolean("mastermind.metrics");
+    public static final String OBJECT_NAME = "com.mastermind:type=EngineMetrics";
+
+    private static final EngineMetrics GLOBAL = new EngineMetrics();
+
+    static {
+        if (ENABLED) {
+            GLOBAL.register(OBJECT_NAME);
+        }
+    }
+
+    private final LongAdder guessesScored = new LongAdder();
+    private final LongAdder activeSessions = new LongAdder();
+    private final LongAdder gamesWon = new LongAdder();
+    private final LongAdder gamesLost = new LongAdder();
+    private final LongAdder winningGuesses = new LongAdder();
+    private final LatencyHistogram CHECK_GUESS = new LatencyHistogram();
+    private final LatencyHistogram SOLVER = new LatencyHistogram();
+    private volatile long start = System.nanoTime();
+
+    // Process-wide metrics fed by the instrumented engine classes
+    public static EngineMetrics global() {
+        return GLOBAL;
+    }
+
+    // Registers this instance with the platform MBean server; a name already taken is left alone
+    public void register(String name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(name));
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered by an earlier call
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics as " + name, e);
+        }
+    }
+
+    public void guessesScored(long guesses) {
+        guessesScored.add(guesses);
+    }
+
+    // One MasterMindLogic.checkGuess call, which also scores a guess
+    public void checkGuessTook(long nanos) {
+        guessesScored.increment();
+        CHECK_GUESS.record(nanos);
+    }
+
+    // One solver decision
+    public void solverTook(long nanos) {
+        SOLVER.record(nanos);
+    }
+
+    public void sessionStarted() {
+        activeSessions.increment();
+    }
+
+    public void sessionEnded() {
+        activeSessions.decrement();
+    }
+
+    // A finished game: guesses used, or -1 if it was lost
+    public void gameFinished(int guesses) {
+        if (guesses > 0) {
+            gamesWon.increment();
+            winningGuesses.add(guesses);
+        } else {
+            gamesLost.increment();
+        }
+    }
+
+    public LatencyHistogram checkGuessLatency() {
+        return CHECK_GUESS;
+    }
+
+    public LatencyHistogram solverLatency() {
+        return SOLVER;
+    }
+
+    @Override
+    public long getGuessesScored() {
+        return guessesScored.sum();
+    }
+
+    // Guesses scored per second since start or the last reset
+    @Override
+    public double getGuessesPerSecond() {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return seconds == 0 ? 0 : getGuessesScored() / seconds;
+    }
+
+    @Override
+    public long getCheckGuessCalls() {
+        return CHECK_GUESS.count();
+    }
+
+    @Override
+    public double getCheckGuessMeanMicros() {
+        return CHECK_GUESS.meanMicros();
+    }
+
+    @Override
+    public double getCheckGuessP99Micros() {
+        return CHECK_GUESS.percentileMicros(0.99);
+    }
+
+    @Override
+    public long getSolverCalls() {
+        return SOLVER.count();
+    }
+
+    @Override
+    public double getSolverMeanMicros() {
+        return SOLVER.meanMicros();
+    }
+
+    @Override
+    public double getSolverP99Micros() {
+        return SOLVER.percentileMicros(0.99);
+    }
+
+    @Override
+    public long getActiveSessions() {
+        return activeSessions.sum();
+    }
+
+    @Override
+    public long getGamesWon() {
+        return gamesWon.sum();
+    }
+
+    @Override
+    public long getGamesLost() {
+        return gamesLost.sum();
+    }
+
+    // Average guesses of the games won
+    @Override
+    public double getAverageGuesses() {
+        long won = getGamesWon();
+        return won == 0 ? 0 : winningGuesses.sum() / (double) won;
+    }
+
+    // Clears every counter except the active sessions, which are still open
+    @Override
+    public void reset() {
+        guessesScored.reset();
+        gamesWon.reset();
+        gamesLost.reset();
+        winningGuesses.reset();
+        CHECK_GUESS.reset();
+        SOLVER.reset();
+        start = System.nanoTime();
+    }
+
+    // One line summary. Example: guesses=1200 rate=5000/s won=10 lost=0 avg=4.40 sessions=0 checkGuess p99=2.0us solver p99=512.0us
+    @Override
+    public String toString() {
+        return String.format("guesses=%d rate=%.0f/s won=%d lost=%d avg=%.2f sessions=%d checkGuess p99=%.1fus"
+                        + " solver p99=%.1fus", getGuessesScored(), getGuessesPerSecond(), getGamesWon(),
+                getGamesLost(), getAverageGuesses(), getActiveSessions(), getCheckGuessP99Micros(),
+                getSolverP99Micros());
+    }
+}
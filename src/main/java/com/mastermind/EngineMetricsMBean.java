@@ -0,0 +1,31 @@
+package com.mastermind;
+
+// JMX view of EngineMetrics, registered as com.mastermind:type=EngineMetrics
+public interface EngineMetricsMBean {
+
+    long getGuessesScored();
+
+    double getGuessesPerSecond();
+
+    long getCheckGuessCalls();
+
+    double getCheckGuessMeanMicros();
+
+    double getCheckGuessP99Micros();
+
+    long getSolverCalls();
+
+    double getSolverMeanMicros();
+
+    double getSolverP99Micros();
+
+    long getActiveSessions();
+
+    long getGamesWon();
+
+    long getGamesLost();
+
+    double getAverageGuesses();
+
+    void reset();
+}
@@ -0,0 +1,173 @@
+package com.mastermind;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Max-entropy guess selector for interactive hints. Picks the same guesses as
+// MaxEntropyStrategy, but on boards without a score table it scores each guess
+// against all the candidates in one batch (CodeBatch), and it takes n * log(n)
+// from a precomputed table; the guesses are split across cores. On large
+// boards, where trying every code against every candidate would take too long,
+// only candidates are tried as guesses, and at most a random sample of them;
+// otherwise one code per symmetry class when the caller passes them.
+public final class EntropyHintStrategy implements GuessStrategy {
+
+    // Guess x candidate pairs allowed per decision (about a second on one core)
+    private static final long MAX_WORK = 1L << 28;
+    // Minimum guess x candidate pairs handled by one fork/join leaf
+    private static final int LEAF_WORK = 1 << 16;
+
+    private final boolean PARALLEL;
+    private final long MAX_PAIRS;
+
+    public EntropyHintStrategy() {
+        this(true);
+    }
+
+    public EntropyHintStrategy(boolean parallel) {
+        this(parallel, MAX_WORK);
+    }
+
+    EntropyHintStrategy(boolean parallel, long maxPairs) {
+        this.PARALLEL = parallel;
+        this.MAX_PAIRS = maxPairs;
+    }
+
+    @Override
+    public String name() {
+        return "entropy";
+    }
+
+    @Override
+    public boolean searchesSpace() {
+        return true;
+    }
+
+    @Override
+    public int chooseGuess(CodeSpace space, int[] candidates, int count) {
+        return chooseGuess(space, candidates, count, null);
+    }
+
+    @Override
+    public int chooseGuess(CodeSpace space, int[] candidates, int count, int[] symmetric) {
+        if (count <= 2) {
+            return candidates[0];
+        }
+        int[] guesses = guessPool(space, candidates, count);
+        if (guesses == null) {
+            guesses = symmetric;
+        }
+        int guessCount = guesses == null ? space.size() : guesses.length;
+
+        double[] nLogN = new double[count + 1];
+        for (int n = 2; n <= count; n++) {
+            nLogN[n] = n * Math.log(n);
+        }
+        double[] costs = new double[guessCount];
+        ScoreTable table = ScoreTable.forSpace(space);
+        CodeBatch batch = table == null ? CodeBatch.of(space, candidates, count) : null;
+        CostTask task = new CostTask(space, table, batch, candidates, count, guesses, nLogN, costs, 0, guessCount);
+        if (PARALLEL) {
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.compute();
+        }
+
+        int best = -1;
+        double bestCost = Double.MAX_VALUE;
+        boolean bestConsistent = false;
+        for (int g = 0; g < guessCount; g++) {
+            int guess = guesses == null ? g : guesses[g];
+            boolean isConsistent = MinimaxStrategy.isCandidate(candidates, count, guess);
+            if (costs[g] < bestCost || (costs[g] == bestCost && isConsistent && !bestConsistent)) {
+                best = guess;
+                bestCost = costs[g];
+                bestConsistent = isConsistent;
+            }
+        }
+        return best;
+    }
+
+    // Code indices to try as guesses, sorted, or null for every code of the space
+    private int[] guessPool(CodeSpace space, int[] candidates, int count) {
+        if ((long) space.size() * count <= MAX_PAIRS) {
+            return null;
+        }
+        int keep = (int) Math.max(1, Math.min(count, MAX_PAIRS / count));
+        if (keep == count) {
+            return Arrays.copyOf(candidates, count);
+        }
+        // Selection sampling keeps the sample sorted
+        int[] sample = new int[keep];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int taken = 0;
+        for (int i = 0; i < count && taken < keep; i++) {
+            if (random.nextInt(count - i) < keep - taken) {
+                sample[taken++] = candidates[i];
+            }
+        }
+        return sample;
+    }
+
+    // Fills costs[from..to) with the sum of n * log(n) over the partitions of each guess
+    private final class CostTask extends RecursiveAction {
+        private final CodeSpace space;
+        private final ScoreTable table;
+        private final CodeBatch batch;
+        private final int[] candidates;
+        private final int count;
+        private final int[] guesses;
+        private final double[] nLogN;
+        private final double[] costs;
+        private final int from;
+        private final int to;
+
+        CostTask(CodeSpace space, ScoreTable table, CodeBatch batch, int[] candidates, int count, int[] guesses,
+                 double[] nLogN, double[] costs, int from, int to) {
+            this.space = space;
+            this.table = table;
+            this.batch = batch;
+            this.candidates = candidates;
+            this.count = count;
+            this.guesses = guesses;
+            this.nLogN = nLogN;
+            this.costs = costs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (PARALLEL && (long) (to - from) * count > LEAF_WORK && to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new CostTask(space, table, batch, candidates, count, guesses, nLogN, costs, from, mid),
+                        new CostTask(space, table, batch, candidates, count, guesses, nLogN, costs, mid, to));
+                return;
+            }
+            int[] common = new int[count];
+            int[] scores = new int[count];
+            int[] histogram = new int[MinimaxStrategy.histogramSize(space)];
+            for (int g = from; g < to; g++) {
+                int guess = guesses == null ? g : guesses[g];
+                if (table != null) {
+                    for (int i = 0; i < count; i++) {
+                        scores[i] = table.score(guess, candidates[i]);
+                    }
+                } else {
+                    batch.scoreAll(space.codeAt(guess), common, scores);
+                }
+                Arrays.fill(histogram, 0);
+                for (int i = 0; i < count; i++) {
+                    histogram[scores[i]]++;
+                }
+                double cost = 0;
+                for (int n : histogram) {
+                    cost += nLogN[n];
+                }
+                costs[g] = cost;
+            }
+        }
+    }
+}
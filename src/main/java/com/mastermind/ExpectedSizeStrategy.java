@@ -0,0 +1,20 @@
+package com.mastermind;
+
+// Guesses the code with the smallest expected number of candidates left,
+// i.e. the lowest sum of squared partition sizes.
+public final class ExpectedSizeStrategy extends PartitionStrategy {
+
+    @Override
+    protected double cost(int[] histogram, int count) {
+        long sum = 0;
+        for (int n : histogram) {
+            sum += (long) n * n;
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "expected";
+    }
+}
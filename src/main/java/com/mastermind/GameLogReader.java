@@ -0,0 +1,174 @@
+package com.mastermind;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Replays a log written by GameLogWriter straight from a memory mapping.
+// A cursor moves over the records without copying or allocating:
+//   while (reader.next()) { reader.secret(); reader.guess(i); reader.score(i); }
+// replayInto() turns a game into GameModel events, so recorded games can be
+// stepped through, undone and fast-forwarded without any UI.
+// Logs are mapped in one piece, so a single file is limited to 2 GB. A last
+// record cut short by a crash ends the replay there (see isTruncated()).
+// Usage: GameLogReader <log>   (prints every game as text)
+public class GameLogReader implements Closeable {
+
+    private final FileChannel CHANNEL;
+    private final MappedByteBuffer MAP;
+    private final CodeSpace SPACE;
+    private final int CODE_BYTES;
+    private final int RECORD_BYTES;
+
+    // Offset of the current record, and of the next one
+    private int current = -1;
+    private int next = GameLogWriter.HEADER_BYTES;
+    private boolean truncated;
+
+    public GameLogReader(Path file) throws IOException {
+        this.CHANNEL = FileChannel.open(file, StandardOpenOption.READ);
+        long size = CHANNEL.size();
+        if (size < GameLogWriter.HEADER_BYTES || size > Integer.MAX_VALUE) {
+            CHANNEL.close();
+            throw new IOException("Bad game log size " + size + ": " + file);
+        }
+        this.MAP = CHANNEL.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        MAP.order(ByteOrder.LITTLE_ENDIAN);
+        if (MAP.getInt(0) != GameLogWriter.MAGIC || MAP.get(4) != GameLogWriter.VERSION) {
+            CHANNEL.close();
+            throw new IOException("Not a game log: " + file);
+        }
+        this.SPACE = CodeSpace.of(MAP.get(5), MAP.get(6));
+        this.CODE_BYTES = GameLogWriter.codeBytes(SPACE.pegs());
+        this.RECORD_BYTES = CODE_BYTES + 1;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: GameLogReader <log>");
+            System.exit(1);
+        }
+        try (GameLogReader reader = new GameLogReader(Path.of(args[0]))) {
+            reader.printTo(Palette.hex(reader.space().colors()), System.out);
+            if (reader.isTruncated()) {
+                System.err.println("Log ends with an incomplete game: " + args[0]);
+            }
+        }
+    }
+
+    public CodeSpace space() {
+        return SPACE;
+    }
+
+    // Moves to the next game, false at the end of the log or at a record that
+    // does not fit in what is left of the file
+    public boolean next() {
+        int limit = MAP.limit();
+        if (next >= limit) {
+            return false;
+        }
+        long end = next + 1L + CODE_BYTES + (long) (MAP.get(next) & 0xFF) * RECORD_BYTES;
+        if (end > limit) {
+            truncated = true;
+            return false;
+        }
+        current = next;
+        next = (int) end;
+        return true;
+    }
+
+    // True if next() stopped at an incomplete record, as a crash while writing leaves
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    // Back to before the first game
+    public void rewind() {
+        current = -1;
+        next = GameLogWriter.HEADER_BYTES;
+    }
+
+    public int guessCount() {
+        return MAP.get(current) & 0xFF;
+    }
+
+    public int secret() {
+        return code(current + 1);
+    }
+
+    public int guess(int turn) {
+        return code(current + 1 + CODE_BYTES + turn * RECORD_BYTES);
+    }
+
+    public int score(int turn) {
+        return MAP.get(current + 1 + CODE_BYTES + turn * RECORD_BYTES + CODE_BYTES) & 0xFF;
+    }
+
+    // Replays the current game into the model from an empty board, one event
+    // per color change, placed peg and check; false if the model rejects it
+    public boolean replayInto(GameModel model) {
+        model.reset();
+        for (int turn = 0; turn < guessCount(); turn++) {
+            if (!model.applyGuess(guess(turn), score(turn))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // True if the last guess of the current game found the secret
+    public boolean isWon() {
+        int count = guessCount();
+        return count > 0 && score(count - 1) == PackedScorer.result(SPACE.pegs(), 0);
+    }
+
+    // Win rate and guess histogram of every game in the log, counting games
+    // longer than rounds as lost
+    public SimulationStats summarize(int rounds) {
+        SimulationStats stats = new SimulationStats(rounds);
+        rewind();
+        while (next()) {
+            int count = guessCount();
+            stats.record(isWon() && count <= rounds ? count : -1);
+        }
+        rewind();
+        return stats;
+    }
+
+    // Writes one line per game: the secret, then each guess with its blacks and whites,
+    // e.g. "0123: 0011 1/0 0234 2/1 0123 4/0"
+    public void printTo(Palette palette, PrintStream out) {
+        int pegs = SPACE.pegs();
+        StringBuilder line = new StringBuilder();
+        rewind();
+        while (next()) {
+            line.setLength(0);
+            palette.formatTo(line, secret(), pegs).append(':');
+            for (int i = 0; i < guessCount(); i++) {
+                palette.formatTo(line.append(' '), guess(i), pegs);
+                line.append(' ').append(PackedScorer.blacksOf(score(i))).append('/')
+                        .append(PackedScorer.whitesOf(score(i)));
+            }
+            out.println(line);
+        }
+        rewind();
+    }
+
+    @Override
+    public void close() throws IOException {
+        CHANNEL.close();
+    }
+
+    private int code(int offset) {
+        int code = 0;
+        for (int i = 0; i < CODE_BYTES; i++) {
+            code |= (MAP.get(offset + i) & 0xFF) << (i << 3);
+        }
+        return code;
+    }
+}
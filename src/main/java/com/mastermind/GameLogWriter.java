@@ -0,0 +1,123 @@
+package com.mastermind;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Append-only binary log of finished games.
+// File header (8 bytes): "MMLG", version, colors, pegs, 0.
+// Game record: guess count (1 byte), secret, then per guess the code and its
+// packed score (1 byte). Codes take one nibble per peg, (pegs + 1) / 2 bytes,
+// so a 6x4 guess costs 3 bytes. Records are batched in a buffer and written
+// to the FileChannel when it fills up or on flush/close. Reopening a log cuts
+// off a last record left incomplete by a crash before appending.
+public class GameLogWriter implements Closeable {
+
+    static final int MAGIC = 0x4D4D4C47;
+    static final byte VERSION = 1;
+    static final int HEADER_BYTES = 8;
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final FileChannel CHANNEL;
+    private final ByteBuffer BUFFER = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final CodeSpace SPACE;
+    private final int CODE_BYTES;
+
+    // Opens or creates a log; an existing log must have the same version and code size
+    public GameLogWriter(Path file, CodeSpace space) throws IOException {
+        this.SPACE = space;
+        this.CODE_BYTES = codeBytes(space.pegs());
+        this.CHANNEL = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (CHANNEL.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).put(VERSION).put((byte) space.colors()).put((byte) space.pegs()).put((byte) 0);
+            header.flip();
+            CHANNEL.write(header, 0);
+        } else {
+            recover(file);
+        }
+        CHANNEL.position(CHANNEL.size());
+    }
+
+    // Checks the header of an existing log and truncates a torn last record,
+    // which the reader would take for the end of the log
+    private void recover(Path file) throws IOException {
+        long size = CHANNEL.size();
+        if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+            CHANNEL.close();
+            throw new IOException("Bad game log size " + size + ": " + file);
+        }
+        MappedByteBuffer map = CHANNEL.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        map.order(ByteOrder.LITTLE_ENDIAN);
+        if (map.getInt(0) != MAGIC || map.get(4) != VERSION || map.get(5) != SPACE.colors()
+                || map.get(6) != SPACE.pegs()) {
+            CHANNEL.close();
+            throw new IOException("Not a game log for " + SPACE + ": " + file);
+        }
+        long offset = HEADER_BYTES;
+        while (offset < size) {
+            long end = offset + 1 + CODE_BYTES + (long) (map.get((int) offset) & 0xFF) * (CODE_BYTES + 1);
+            if (end > size) {
+                break;
+            }
+            offset = end;
+        }
+        if (offset < size) {
+            CHANNEL.truncate(offset);
+            CHANNEL.force(false);
+        }
+    }
+
+    static int codeBytes(int pegs) {
+        return (pegs + 1) >>> 1;
+    }
+
+    // Appends a game: the packed secret and its first count guesses and scores
+    public synchronized void writeGame(int secret, int[] guesses, int[] scores, int count) throws IOException {
+        if (count > 255) {
+            throw new IllegalArgumentException("Too many guesses: " + count);
+        }
+        int bytes = 1 + CODE_BYTES + count * (CODE_BYTES + 1);
+        if (BUFFER.remaining() < bytes) {
+            flush();
+        }
+        BUFFER.put((byte) count);
+        putCode(secret);
+        for (int i = 0; i < count; i++) {
+            putCode(guesses[i]);
+            BUFFER.put((byte) scores[i]);
+        }
+    }
+
+    // Writes the buffered records to the channel
+    public synchronized void flush() throws IOException {
+        BUFFER.flip();
+        while (BUFFER.hasRemaining()) {
+            CHANNEL.write(BUFFER);
+        }
+        BUFFER.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        CHANNEL.close();
+    }
+
+    public CodeSpace space() {
+        return SPACE;
+    }
+
+    private void putCode(int code) {
+        for (int i = 0; i < CODE_BYTES; i++) {
+            BUFFER.put((byte) (code >>> (i << 3)));
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.mastermind;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// State of one game on the board, independent of Swing: the color of every
+// guess slot, the feedback of every checked row, the current row and the
+// selected color, all in primitive arrays. It only changes through events,
+// each encoded in an int (type in the top 4 bits) and kept in a log, so a game
+// can be replayed, undone and fast-forwarded without any UI. Undo and seek
+// move a cursor over the log; applying a new event drops what was undone.
+// Rows touched since the last clearChanges() are tracked so a view only
+// redraws those. One model can be reset and reused for any number of games.
+public final class GameModel {
+
+    public static final int SELECT_COLOR = 1;
+    public static final int PLACE_PEG = 2;
+    public static final int CHECK_ROW = 3;
+
+    private final int ROWS;
+    private final int PEGS;
+    private final int COLORS;
+    // Color index of each slot, row by row; -1 while empty
+    private final int[] slots;
+    // Feedback of each checked row
+    private final int[] blacks;
+    private final int[] whites;
+    private int row;
+    private int selected;
+    private boolean won;
+
+    // events[0..position) are applied; events[position..length) were undone and can be redone
+    private int[] events = new int[64];
+    private int position;
+    private int length;
+
+    // Rows changed since the last clearChanges(), inclusive; empty when from > to
+    private int changedFrom;
+    private int changedTo;
+
+    public GameModel(int rows, int pegs, int colors) {
+        if (rows < 1 || pegs < 1 || pegs > 0xFF || colors < 1 || colors > 0xFF) {
+            throw new IllegalArgumentException("Invalid board: " + rows + " rows, " + pegs + " pegs, "
+                    + colors + " colors");
+        }
+        this.ROWS = rows;
+        this.PEGS = pegs;
+        this.COLORS = colors;
+        this.slots = new int[rows * pegs];
+        this.blacks = new int[rows];
+        this.whites = new int[rows];
+        reset();
+    }
+
+    public GameModel(Variant variant) {
+        this(variant.rounds(), variant.pegs(), variant.colors());
+    }
+
+    // ----- Events -----
+
+    public static int selectColor(int color) {
+        return SELECT_COLOR << 28 | color;
+    }
+
+    public static int placePeg(int slot) {
+        return PLACE_PEG << 28 | slot;
+    }
+
+    public static int checkRow(int blacks, int whites) {
+        return CHECK_ROW << 28 | blacks << 8 | whites;
+    }
+
+    public static int typeOf(int event) {
+        return event >>> 28;
+    }
+
+    // Applies and records the event; false, with nothing changed, if the rules do not allow it now
+    public boolean apply(int event) {
+        if (!accepts(event)) {
+            return false;
+        }
+        if (position == events.length) {
+            events = Arrays.copyOf(events, position * 2);
+        }
+        events[position++] = event;
+        length = position;
+        play(event);
+        return true;
+    }
+
+    // Applies a whole packed guess: a color selection when the color changes and
+    // a placed peg for each slot, then the check with its packed score. False,
+    // with nothing changed, if any of them would be rejected.
+    public boolean applyGuess(int code, int score) {
+        if (!isPlaying() || PackedScorer.blacksOf(score) + PackedScorer.whitesOf(score) > PEGS) {
+            return false;
+        }
+        for (int slot = 0; slot < PEGS; slot++) {
+            if (PackedScorer.peg(code, slot) >= COLORS) {
+                return false;
+            }
+        }
+        for (int slot = 0; slot < PEGS; slot++) {
+            int color = PackedScorer.peg(code, slot);
+            if (color != selected) {
+                apply(selectColor(color));
+            }
+            apply(placePeg(slot));
+        }
+        return apply(checkRow(PackedScorer.blacksOf(score), PackedScorer.whitesOf(score)));
+    }
+
+    // True if the rules allow the event in the current state
+    public boolean accepts(int event) {
+        int argument = event & 0xFFFFFFF;
+        switch (typeOf(event)) {
+            case SELECT_COLOR:
+                return isPlaying() && argument < COLORS;
+            case PLACE_PEG:
+                return isPlaying() && selected >= 0 && argument < PEGS;
+            case CHECK_ROW:
+                int b = argument >>> 8;
+                int w = argument & 0xFF;
+                return isPlaying() && isRowFull() && b + w <= PEGS;
+            default:
+                return false;
+        }
+    }
+
+    private void play(int event) {
+        int argument = event & 0xFFFFFFF;
+        switch (typeOf(event)) {
+            case SELECT_COLOR:
+                selected = argument;
+                break;
+            case PLACE_PEG:
+                slots[row * PEGS + argument] = selected;
+                changed(row);
+                break;
+            default:
+                blacks[row] = argument >>> 8;
+                whites[row] = argument & 0xFF;
+                won = blacks[row] == PEGS;
+                changed(row);
+                row++;
+                break;
+        }
+    }
+
+    // ----- Log -----
+
+    // Takes back the last applied event
+    public boolean undo() {
+        if (position == 0) {
+            return false;
+        }
+        seek(position - 1);
+        return true;
+    }
+
+    // Applies again the last undone event
+    public boolean redo() {
+        if (position == length) {
+            return false;
+        }
+        play(events[position++]);
+        return true;
+    }
+
+    // State after the first target events of the log. Going back replays from
+    // the start, which is a few hundred events at most for a full board.
+    public void seek(int target) {
+        if (target < 0 || target > length) {
+            throw new IndexOutOfBoundsException("Event " + target + " of " + length);
+        }
+        if (target < position) {
+            changed(0);
+            changed(Math.min(row, ROWS - 1));
+            clearState();
+            position = 0;
+        }
+        while (position < target) {
+            play(events[position++]);
+        }
+    }
+
+    // Events applied so far
+    public int position() {
+        return position;
+    }
+
+    // Events in the log, including undone ones
+    public int length() {
+        return length;
+    }
+
+    public int eventAt(int index) {
+        return events[index];
+    }
+
+    // Empty board and empty log
+    public void reset() {
+        clearState();
+        position = 0;
+        length = 0;
+        changedFrom = 0;
+        changedTo = ROWS - 1;
+    }
+
+    private void clearState() {
+        Arrays.fill(slots, -1);
+        Arrays.fill(blacks, 0);
+        Arrays.fill(whites, 0);
+        row = 0;
+        selected = -1;
+        won = false;
+    }
+
+    // ----- State -----
+
+    public int rows() {
+        return ROWS;
+    }
+
+    public int pegs() {
+        return PEGS;
+    }
+
+    public int colors() {
+        return COLORS;
+    }
+
+    // Row being filled; equals rows() once every row is checked
+    public int currentRow() {
+        return row;
+    }
+
+    // Selected color index, or -1
+    public int selectedColor() {
+        return selected;
+    }
+
+    // Color index in a slot, or -1 if it is empty
+    public int colorAt(int row, int slot) {
+        return slots[row * PEGS + Objects.checkIndex(slot, PEGS)];
+    }
+
+    // Feedback of a checked row; 0 for rows not checked yet
+    public int blacks(int row) {
+        return blacks[row];
+    }
+
+    public int whites(int row) {
+        return whites[row];
+    }
+
+    // True if every slot of the current row has a color
+    public boolean isRowFull() {
+        if (!isPlaying()) {
+            return false;
+        }
+        for (int i = row * PEGS; i < (row + 1) * PEGS; i++) {
+            if (slots[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isWon() {
+        return won;
+    }
+
+    // True once every row was checked without finding the code
+    public boolean isLost() {
+        return !won && row == ROWS;
+    }
+
+    public boolean isPlaying() {
+        return !won && row < ROWS;
+    }
+
+    // ----- Changes -----
+
+    // First row changed since clearChanges(), or rows() if none
+    public int changedFrom() {
+        return changedFrom <= changedTo ? changedFrom : ROWS;
+    }
+
+    // Last row changed since clearChanges(), or -1 if none
+    public int changedTo() {
+        return changedFrom <= changedTo ? changedTo : -1;
+    }
+
+    public void clearChanges() {
+        changedFrom = ROWS;
+        changedTo = -1;
+    }
+
+    private void changed(int row) {
+        changedFrom = Math.min(changedFrom, row);
+        changedTo = Math.max(changedTo, row);
+    }
+}
@@ -0,0 +1,400 @@
+package com.mastermind;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hosts many games in one JVM over a line protocol on a non-blocking socket.
+// One selector thread serves every connection. Requests and responses are
+// single ASCII lines, codes are written with one label character per peg:
+//   NEW                 -> OK <id>
+//   GUESS <id> <code>   -> SCORE <blacks> <whites>   (ERR game over once solved
+//                          or after GameSession.MAX_GUESSES)
+//   REVEAL <id>         -> SECRET <code>   (ends the session)
+//   anything else       -> ERR <reason>
+// Sessions idle for longer than the timeout are evicted. With a SessionStore,
+// open sessions survive a restart: every change is journaled before it is
+// applied, and replies of one selector round go out after the round's records
+// are fsynced together: each connection only sends the bytes released by a
+// successful sync. If the store fails, the change it could not journal is
+// refused, and replies wait until a later round manages to sync.
+// Usage: GameServer <port> <colors> <secretLength> [sessionFile]
+public class GameServer implements Closeable {
+
+    private static final int MAX_LINE = 256;
+    private static final String HEX = "0123456789ABCDEF";
+
+    private final CodeSpace SPACE;
+    private final Palette PALETTE;
+    private final SecretGenerator SECRETS;
+    private final long IDLE_NANOS;
+    // Journal of the open sessions, or null to keep them only in memory
+    private final SessionStore STORE;
+
+    private final Map<Long, Entry> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    // Connections with replies waiting for the end of the selector round, each listed once
+    private final List<SelectionKey> replies = new ArrayList<>();
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread loop;
+    private volatile boolean running;
+    // True while the store keeps failing, so the error is reported once
+    private boolean storeFailing;
+
+    // A session plus the last time it was used
+    private static final class Entry {
+        final GameSession session;
+        long lastAccess;
+
+        Entry(GameSession session, long now) {
+            this.session = session;
+            this.lastAccess = now;
+        }
+    }
+
+    // Buffers of one client connection. The first released bytes of out are
+    // replies whose changes are synced; the rest wait for the next sync.
+    private static final class Connection {
+        final ByteBuffer in = ByteBuffer.allocate(MAX_LINE);
+        ByteBuffer out = ByteBuffer.allocate(1024);
+        int released;
+        // True while listed in replies
+        boolean queued;
+    }
+
+    public GameServer(CodeSpace space, String[] labels, SecretGenerator secrets, long idleTimeoutMillis) {
+        this(space, labels, secrets, idleTimeoutMillis, null);
+    }
+
+    // Server that resumes the sessions saved in the store and journals new ones to it.
+    // The store stays open when the server closes.
+    public GameServer(CodeSpace space, String[] labels, SecretGenerator secrets, long idleTimeoutMillis,
+                      SessionStore store) {
+        this.SPACE = space;
+        this.PALETTE = Palette.withLabels(labels);
+        this.SECRETS = secrets;
+        this.IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.STORE = store;
+        if (store != null) {
+            long now = System.nanoTime();
+            for (Map.Entry<Long, GameSession> saved : store.sessions().entrySet()) {
+                sessions.put(saved.getKey(), new Entry(saved.getValue(), now));
+                if (EngineMetrics.ENABLED) {
+                    EngineMetrics.global().sessionStarted();
+                }
+            }
+            nextId.set(store.maxId() + 1);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || args.length > 4) {
+            System.err.println("Usage: GameServer <port> <colors> <secretLength> [sessionFile]");
+            System.exit(1);
+        }
+        int colors = Integer.parseInt(args[1]);
+        CodeSpace space = CodeSpace.of(colors, Integer.parseInt(args[2]));
+        SessionStore store = args.length == 4 ? new SessionStore(Path.of(args[3]), space) : null;
+        GameServer server = new GameServer(space, hexLabels(colors), SecretGenerator.random(),
+                TimeUnit.MINUTES.toMillis(10), store);
+        if (store != null) {
+            System.out.println("Resumed " + server.activeSessions() + " sessions from " + args[3]);
+        }
+        System.out.println("Listening on port " + server.start(Integer.parseInt(args[0])));
+    }
+
+    // Labels 0-9, A-F, used when no palette labels are given
+    public static String[] hexLabels(int colors) {
+        String[] labels = new String[colors];
+        for (int i = 0; i < colors; i++) {
+            labels[i] = String.valueOf(HEX.charAt(i));
+        }
+        return labels;
+    }
+
+    // Binds to localhost (0 picks a free port) and starts serving, returning the bound port
+    public int start(int port) throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        loop = new Thread(this::serve, "game-server");
+        loop.start();
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public int activeSessions() {
+        return sessions.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        if (selector != null) {
+            selector.wakeup();
+            try {
+                loop.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+        }
+        if (STORE != null) {
+            STORE.sync();
+        }
+    }
+
+    private void serve() {
+        long nextEviction = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        try {
+            while (running) {
+                selector.select(1000);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else {
+                            if (key.isReadable()) {
+                                read(key);
+                            }
+                            if (key.isValid() && key.isWritable()) {
+                                write(key);
+                            }
+                        }
+                    } catch (IOException e) {
+                        key.cancel();
+                        key.channel().close();
+                    }
+                }
+                long now = System.nanoTime();
+                if (now - nextEviction >= 0) {
+                    evictIdle(now);
+                    nextEviction = now + TimeUnit.SECONDS.toNanos(1);
+                }
+                // One fsync for every change of the round, before any of them is acknowledged
+                if (!syncStore()) {
+                    continue;
+                }
+                for (SelectionKey key : replies) {
+                    Connection connection = (Connection) key.attachment();
+                    connection.queued = false;
+                    connection.released = connection.out.position();
+                    try {
+                        if (key.isValid()) {
+                            write(key);
+                        }
+                    } catch (IOException e) {
+                        key.cancel();
+                        key.channel().close();
+                    }
+                }
+                replies.clear();
+            }
+        } catch (IOException e) {
+            System.err.println("Game server stopped: " + e.getMessage());
+        }
+    }
+
+    // Writes and fsyncs the records of the round; false if the store failed,
+    // in which case the replies are held and the sync is retried next round
+    boolean syncStore() {
+        if (STORE == null) {
+            return true;
+        }
+        try {
+            STORE.sync();
+            storeFailing = false;
+            return true;
+        } catch (IOException e) {
+            storeFailed(e);
+            return false;
+        }
+    }
+
+    private void storeFailed(IOException e) {
+        if (!storeFailing) {
+            System.err.println("Cannot save sessions: " + e.getMessage());
+            storeFailing = true;
+        }
+    }
+
+    // Removes every session not used within the idle timeout. A session whose
+    // end cannot be journaled stays, and is tried again on the next pass.
+    void evictIdle(long now) {
+        Iterator<Map.Entry<Long, Entry>> entries = sessions.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Long, Entry> entry = entries.next();
+            if (now - entry.getValue().lastAccess > IDLE_NANOS) {
+                try {
+                    ended(entry.getKey(), entry.getValue().session);
+                } catch (IOException e) {
+                    storeFailed(e);
+                    return;
+                }
+                entries.remove();
+            }
+        }
+    }
+
+    // A session leaving the table: dropped from the store, and counted as lost
+    // in the metrics if it was not solved
+    private void ended(long id, GameSession session) throws IOException {
+        if (STORE != null) {
+            STORE.ended(id);
+        }
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.global().sessionEnded();
+            if (!session.isSolved()) {
+                EngineMetrics.global().gameFinished(-1);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel client = serverChannel.accept();
+        if (client != null) {
+            client.configureBlocking(false);
+            client.socket().setTcpNoDelay(true);
+            client.register(selector, SelectionKey.OP_READ, new Connection());
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel client = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+        if (client.read(connection.in) < 0) {
+            key.cancel();
+            client.close();
+            return;
+        }
+        ByteBuffer in = connection.in;
+        in.flip();
+        int start = in.position();
+        for (int i = in.position(); i < in.limit(); i++) {
+            if (in.get(i) == '\n') {
+                String line = new String(in.array(), start, i - start, StandardCharsets.US_ASCII).trim();
+                respond(connection, handle(line));
+                start = i + 1;
+            }
+        }
+        in.position(start);
+        in.compact();
+        if (!in.hasRemaining()) {
+            respond(connection, "ERR line too long");
+            in.clear();
+        }
+        if (!connection.queued) {
+            connection.queued = true;
+            replies.add(key);
+        }
+    }
+
+    // Sends what it can of the released replies, waiting for OP_WRITE for the rest
+    private void write(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        ByteBuffer out = connection.out;
+        int end = out.position();
+        out.flip();
+        out.limit(connection.released);
+        connection.released -= ((SocketChannel) key.channel()).write(out);
+        out.limit(end);
+        out.compact();
+        key.interestOps(connection.released > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private void respond(Connection connection, String response) {
+        byte[] bytes = (response + "\n").getBytes(StandardCharsets.US_ASCII);
+        if (connection.out.remaining() < bytes.length) {
+            ByteBuffer bigger = ByteBuffer.allocate(connection.out.capacity() * 2 + bytes.length);
+            connection.out.flip();
+            bigger.put(connection.out);
+            connection.out = bigger;
+        }
+        connection.out.put(bytes);
+    }
+
+    // Executes one request line, returning the response line
+    String handle(String line) {
+        String[] parts = line.split(" ");
+        try {
+            switch (parts[0]) {
+                case "NEW": {
+                    long id = nextId.getAndIncrement();
+                    GameSession session = GameSession.start(SPACE, SECRETS);
+                    if (STORE != null) {
+                        STORE.started(id, session);
+                    }
+                    sessions.put(id, new Entry(session, System.nanoTime()));
+                    if (EngineMetrics.ENABLED) {
+                        EngineMetrics.global().sessionStarted();
+                    }
+                    return "OK " + id;
+                }
+                case "GUESS": {
+                    long id = parts.length == 3 ? Long.parseLong(parts[1]) : 0;
+                    Entry entry = sessions.get(id);
+                    if (entry == null) {
+                        return "ERR unknown session";
+                    }
+                    int guess = PALETTE.parse(parts[2], SPACE.pegs());
+                    if (guess < 0) {
+                        return "ERR bad code";
+                    }
+                    entry.lastAccess = System.nanoTime();
+                    // Bounds what one client can add to memory and to the store
+                    if (entry.session.isOver()) {
+                        return "ERR game over";
+                    }
+                    // Journaled first: a guess the store refuses is not made
+                    if (STORE != null) {
+                        STORE.guessed(id, guess);
+                    }
+                    int score = entry.session.guess(guess);
+                    return "SCORE " + PackedScorer.blacksOf(score) + " " + PackedScorer.whitesOf(score);
+                }
+                case "REVEAL": {
+                    long id = parts.length == 2 ? Long.parseLong(parts[1]) : 0;
+                    Entry entry = sessions.get(id);
+                    if (entry == null) {
+                        return "ERR unknown session";
+                    }
+                    ended(id, entry.session);
+                    sessions.remove(id);
+                    return "SECRET " + PALETTE.format(entry.session.secret(), SPACE.pegs());
+                }
+                default:
+                    return "ERR unknown command";
+            }
+        } catch (NumberFormatException e) {
+            return "ERR bad session id";
+        } catch (IOException e) {
+            storeFailed(e);
+            return "ERR cannot save session";
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.mastermind;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// One game: a secret of its own plus the guesses made against it.
+// The code space is immutable and shared, so any number of sessions can run
+// at once without touching common state. A session itself belongs to one
+// player and is not meant to be guessed from several threads at a time.
+// A session takes no more guesses once solved or after MAX_GUESSES.
+public final class GameSession {
+
+    // Guesses a session takes, as many as a game log record holds
+    public static final int MAX_GUESSES = 255;
+
+    private final CodeSpace SPACE;
+    private final int SECRET;
+    private final long SECRET_COUNTS;
+    private final int WIN;
+    // Packed guesses in the order they were made
+    private int[] history = new int[8];
+    private int guesses;
+    private boolean solved;
+
+    // New session with the given packed secret
+    public GameSession(CodeSpace space, int secretCode) {
+        this.SPACE = space;
+        this.SECRET = secretCode;
+        this.SECRET_COUNTS = PackedScorer.colorCounts(secretCode, space.pegs());
+        this.WIN = PackedScorer.result(space.pegs(), 0);
+    }
+
+    // New session with a secret drawn from the generator
+    public static GameSession start(CodeSpace space, SecretGenerator generator) {
+        return new GameSession(space, space.codeAt(generator.nextSecret(space)));
+    }
+
+    // Scores a packed guess, returning the packed black/white score
+    public int guess(int guessCode) {
+        if (isOver()) {
+            throw new IllegalStateException("Game over after " + guesses + " guesses");
+        }
+        boolean wasSolved = solved;
+        int score = replay(guessCode);
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.global().guessesScored(1);
+            if (solved && !wasSolved) {
+                EngineMetrics.global().gameFinished(guesses);
+            }
+        }
+        return score;
+    }
+
+    // Applies a guess made before, e.g. while restoring a saved session, without counting it in the metrics
+    int replay(int guessCode) {
+        int score = PackedScorer.score(SECRET, SECRET_COUNTS, guessCode, SPACE.pegs());
+        if (guesses == history.length) {
+            history = Arrays.copyOf(history, guesses * 2);
+        }
+        history[guesses++] = guessCode;
+        if (score == WIN) {
+            solved = true;
+        }
+        return score;
+    }
+
+    public int secret() {
+        return SECRET;
+    }
+
+    public int guesses() {
+        return guesses;
+    }
+
+    // Packed guess made on a turn, from 0 to guesses() - 1
+    public int guessAt(int turn) {
+        Objects.checkIndex(turn, guesses);
+        return history[turn];
+    }
+
+    public boolean isSolved() {
+        return solved;
+    }
+
+    // True once the session takes no more guesses
+    public boolean isOver() {
+        return solved || guesses >= MAX_GUESSES;
+    }
+
+    public CodeSpace space() {
+        return SPACE;
+    }
+}
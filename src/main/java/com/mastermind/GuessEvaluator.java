@@ -0,0 +1,132 @@
+package com.mastermind;
+
+import java.awt.Color;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+// Runs guess scoring and next-guess hints on background threads so the UI
+// never blocks. Results are handed to the callback executor (the Event
+// Dispatch Thread in the UI). Scoring has its own thread, so a check never
+// waits behind a hint or a count; hints and counts share the other one.
+// cancel() drops the checks and hints still in flight, cancelHints() only the
+// hints: their results are never delivered and queued ones never start.
+// Counts are only dropped by close(), as a count of a row already checked
+// stays valid whatever is edited next.
+public final class GuessEvaluator implements AutoCloseable {
+
+    private final MasterMindLogic LOGIC;
+    private final GuessStrategy STRATEGY;
+    private final Executor CALLBACKS;
+    private final ExecutorService CHECKS;
+    private final ExecutorService BACKGROUND;
+
+    // Bumped by cancel() and cancelHints(); results of older requests are dropped
+    private final AtomicLong checkGeneration = new AtomicLong();
+    private final AtomicLong hintGeneration = new AtomicLong();
+    // Bumped by close() only
+    private final AtomicLong countGeneration = new AtomicLong();
+    private volatile Future<?> pendingCheck;
+    private volatile Future<?> pendingHint;
+
+    public GuessEvaluator(MasterMindLogic logic, GuessStrategy strategy, Executor callbacks) {
+        this.LOGIC = logic;
+        this.STRATEGY = strategy;
+        this.CALLBACKS = callbacks;
+        this.CHECKS = worker("guess-evaluator");
+        this.BACKGROUND = worker("guess-hints");
+    }
+
+    private static ExecutorService worker(String name) {
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Scores a guess against the secret and delivers the result
+    public void evaluate(Color[] guess, Consumer<MasterMindLogic.Result> onResult) {
+        Color[] copy = guess.clone();
+        pendingCheck = submit(CHECKS, checkGeneration, () -> LOGIC.checkGuess(copy), onResult);
+    }
+
+    // Asks the strategy for the next guess among the candidate code indices
+    // (sorted, first count valid) and delivers the chosen index
+    public void suggest(CodeSpace space, int[] candidates, int count, IntConsumer onGuess) {
+        pendingHint = submit(BACKGROUND, hintGeneration, () -> STRATEGY.chooseGuess(space, candidates, count),
+                onGuess::accept);
+    }
+
+    // Samples the codes consistent with the stream's guesses for a hint and delivers the result
+    public void scan(CandidateStream stream, int sampleSize, Consumer<CandidateStream.Scan> onScan) {
+        pendingHint = submit(BACKGROUND, hintGeneration, () -> stream.scan(sampleSize), onScan);
+    }
+
+    // Counts the codes consistent with the stream's guesses and delivers the result
+    public void count(CandidateStream stream, Consumer<CandidateStream.Scan> onScan) {
+        submit(BACKGROUND, countGeneration, () -> stream.scan(0), onScan);
+    }
+
+    // Drops every check and hint not delivered yet
+    public void cancel() {
+        checkGeneration.incrementAndGet();
+        interrupt(pendingCheck);
+        cancelHints();
+    }
+
+    // Drops every hint not delivered yet
+    public void cancelHints() {
+        hintGeneration.incrementAndGet();
+        interrupt(pendingHint);
+    }
+
+    // Waits until every request submitted so far has run
+    public void awaitIdle() throws InterruptedException {
+        try {
+            // A check's callback may request a count, so the checks go first
+            CHECKS.submit(() -> { }).get();
+            BACKGROUND.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        countGeneration.incrementAndGet();
+        cancel();
+        CHECKS.shutdownNow();
+        BACKGROUND.shutdownNow();
+    }
+
+    private static void interrupt(Future<?> task) {
+        if (task != null) {
+            task.cancel(true);
+        }
+    }
+
+    private <T> Future<?> submit(ExecutorService worker, AtomicLong generation, Callable<T> work,
+                                 Consumer<T> onResult) {
+        long requested = generation.get();
+        return worker.submit(() -> {
+            if (generation.get() != requested) {
+                return null;
+            }
+            T value = work.call();
+            CALLBACKS.execute(() -> {
+                // Checked again on the callback thread, where cancel() is called
+                if (generation.get() == requested) {
+                    onResult.accept(value);
+                }
+            });
+            return null;
+        });
+    }
+}
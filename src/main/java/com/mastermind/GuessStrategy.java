@@ -0,0 +1,46 @@
+package com.mastermind;
+
+// Picks the next guess of a solver from the codes still consistent with the feedback.
+// Candidates are code indices of the space, sorted ascending; only the first count are valid.
+public interface GuessStrategy {
+
+    // Index of the code to guess next
+    int chooseGuess(CodeSpace space, int[] candidates, int count);
+
+    // Same, trying only the given guess indices (sorted, see GuessSymmetry) or every
+    // code when guesses is null. Strategies that do not search the space ignore them.
+    default int chooseGuess(CodeSpace space, int[] candidates, int count, int[] guesses) {
+        return chooseGuess(space, candidates, count);
+    }
+
+    // True if the strategy also tries codes that are not candidates, so that
+    // cutting them down to one per symmetry class saves work
+    default boolean searchesSpace() {
+        return false;
+    }
+
+    // True if the same candidates always get the same guess, so that the
+    // guess can be cached (TranspositionCache)
+    default boolean isDeterministic() {
+        return false;
+    }
+
+    String name();
+
+    // Strategy for a command line name: "minimax", "entropy", "expected" or "random".
+    // These run on the calling thread; batch tools parallelize across games instead.
+    static GuessStrategy named(String name) {
+        switch (name) {
+            case "minimax":
+                return new MinimaxStrategy(false);
+            case "entropy":
+                return new MaxEntropyStrategy();
+            case "expected":
+                return new ExpectedSizeStrategy();
+            case "random":
+                return new RandomConsistentStrategy();
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.mastermind;
+
+import java.util.Arrays;
+
+// Guesses that are equivalent given the guesses so far. Colors no guess has
+// used are interchangeable, and so are positions that held the same color in
+// every guess: renaming those colors or swapping those positions maps the
+// history, and so the candidates, onto themselves. Equivalent guesses split the
+// candidates into partitions of the same sizes, so a strategy only needs to
+// try one of each class. The representative is the lowest index of its class,
+// which keeps every strategy's lowest-index tie break unchanged. Immutable:
+// after() returns the symmetry one guess later, and the representatives are
+// computed once per instance.
+public final class GuessSymmetry {
+
+    // Fewer candidates than this are searched faster over every code
+    static final int MIN_CANDIDATES = 16;
+
+    private final CodeSpace SPACE;
+    // Colors no guess has used yet, one bit per color
+    private final int FREE_COLORS;
+    // Class of each position, numbered in order of first position
+    private final int[] CLASS_OF;
+    private final int CLASSES;
+    // Positions grouped by class, ascending within each; class c starts at CLASS_START[c]
+    private final int[] ORDER;
+    private final int[] CLASS_START;
+
+    // Computed on first use; null while unknown or when every code is its own class
+    private volatile int[] representatives;
+    private volatile boolean known;
+
+    private GuessSymmetry(CodeSpace space, int freeColors, int[] classOf, int classes) {
+        this.SPACE = space;
+        this.FREE_COLORS = freeColors;
+        this.CLASS_OF = classOf;
+        this.CLASSES = classes;
+        this.ORDER = new int[classOf.length];
+        this.CLASS_START = new int[classes + 1];
+        for (int c : classOf) {
+            CLASS_START[c + 1]++;
+        }
+        for (int c = 0; c < classes; c++) {
+            CLASS_START[c + 1] += CLASS_START[c];
+        }
+        int[] filled = Arrays.copyOf(CLASS_START, classes);
+        for (int p = 0; p < classOf.length; p++) {
+            ORDER[filled[classOf[p]]++] = p;
+        }
+    }
+
+    // Before the first guess: every color and every position is interchangeable
+    public static GuessSymmetry of(CodeSpace space) {
+        return new GuessSymmetry(space, (1 << space.colors()) - 1, new int[space.pegs()], 1);
+    }
+
+    // The symmetry left once this packed code has also been guessed
+    public GuessSymmetry after(int guessCode) {
+        int pegs = SPACE.pegs();
+        int free = FREE_COLORS;
+        // A new class for each (old class, color) pair
+        int[] keys = new int[pegs];
+        int[] classOf = new int[pegs];
+        int classes = 0;
+        for (int p = 0; p < pegs; p++) {
+            int color = PackedScorer.peg(guessCode, p);
+            free &= ~(1 << color);
+            int key = CLASS_OF[p] << 4 | color;
+            int c = 0;
+            while (c < classes && keys[c] != key) {
+                c++;
+            }
+            if (c == classes) {
+                keys[classes++] = key;
+            }
+            classOf[p] = c;
+        }
+        return new GuessSymmetry(SPACE, free, classOf, classes);
+    }
+
+    // True if no two guesses are equivalent any more
+    public boolean isTrivial() {
+        return Integer.bitCount(FREE_COLORS) < 2 && CLASSES == SPACE.pegs();
+    }
+
+    // Representatives, or null when there are too few candidates for the search
+    // to cost more than finding them (one canonical form per code of the space)
+    public int[] representatives(int candidates) {
+        return candidates < MIN_CANDIDATES ? null : representatives();
+    }
+
+    // Index of the lowest code of each class, ascending; null if every code is its own class
+    public int[] representatives() {
+        if (!known) {
+            representatives = isTrivial() ? null : findRepresentatives();
+            known = true;
+        }
+        return representatives;
+    }
+
+    private int[] findRepresentatives() {
+        long[] seen = new long[(SPACE.size() + 63) >>> 6];
+        long[] signatures = new long[SPACE.colors()];
+        long[] used = new long[Integer.bitCount(FREE_COLORS)];
+        int[] filled = new int[CLASSES];
+        int[] found = new int[64];
+        int n = 0;
+        // Ascending order, so the first code of a class is its lowest
+        for (int index = 0; index < SPACE.size(); index++) {
+            int key = SPACE.indexOf(canonical(SPACE.codeAt(index), signatures, used, filled));
+            if ((seen[key >>> 6] & (1L << key)) == 0) {
+                seen[key >>> 6] |= 1L << key;
+                if (n == found.length) {
+                    found = Arrays.copyOf(found, n * 2);
+                }
+                found[n++] = index;
+            }
+        }
+        return Arrays.copyOf(found, n);
+    }
+
+    // Packed code shared by every code equivalent to this one
+    public int canonical(int code) {
+        return canonical(code, new long[SPACE.colors()], new long[Integer.bitCount(FREE_COLORS)],
+                new int[CLASSES]);
+    }
+
+    // A class is fixed by how many pegs of each color fall in each position
+    // class, up to renaming the free colors. Free colors are renamed by
+    // decreasing signature (their counts per position class), then each
+    // position class is filled with its colors in ascending order.
+    private int canonical(int code, long[] signatures, long[] used, int[] filled) {
+        int pegs = SPACE.pegs();
+        Arrays.fill(signatures, 0);
+        for (int p = 0; p < pegs; p++) {
+            signatures[PackedScorer.peg(code, p)] += 1L << (CLASS_OF[p] << 2);
+        }
+        int free = FREE_COLORS;
+        if (used.length > 1) {
+            int n = 0;
+            for (int c = free; c != 0; c &= c - 1) {
+                used[n++] = signatures[Integer.numberOfTrailingZeros(c)];
+            }
+            Arrays.sort(used);
+            for (int c = free; c != 0; c &= c - 1) {
+                signatures[Integer.numberOfTrailingZeros(c)] = used[--n];
+            }
+        }
+        System.arraycopy(CLASS_START, 0, filled, 0, CLASSES);
+        int result = 0;
+        for (int color = 0; color < signatures.length; color++) {
+            long signature = signatures[color];
+            for (int c = 0; signature != 0; c++, signature >>>= 4) {
+                for (int k = (int) (signature & 0xF); k > 0; k--) {
+                    result |= color << (ORDER[filled[c]++] << 2);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,67 @@
+package com.mastermind;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency distribution with one bucket per power of two nanoseconds.
+// Recording is two LongAdder increments, so it stays cheap under contention;
+// percentiles are reported as the upper bound of their bucket.
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        buckets[BUCKETS - 1 - Long.numberOfLeadingZeros(Math.max(1, nanos))].increment();
+        totalNanos.add(nanos);
+    }
+
+    public long count() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    public double meanMicros() {
+        long count = count();
+        return count == 0 ? 0 : totalNanos.sum() / (count * 1000.0);
+    }
+
+    // Upper bound of the bucket holding this fraction of the samples, in microseconds
+    public double percentileMicros(double fraction) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) {
+                return Math.scalb(1.0, i + 1) / 1000.0;
+            }
+        }
+        return Math.scalb(1.0, BUCKETS) / 1000.0;
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+    }
+}
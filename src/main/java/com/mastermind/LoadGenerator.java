@@ -0,0 +1,132 @@
+package com.mastermind;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Load generator for GameServer. Every connection opens its sessions, sends
+// random guesses to them round robin and reveals them at the end. The latency
+// of each guess is recorded to report p50/p99.
+// Usage: LoadGenerator <host> <port> <colors> <secretLength> <connections> <sessionsPerConnection> <guessesPerSession>
+public class LoadGenerator {
+
+    // Aggregate latencies of a run
+    public static final class Report {
+        private final long[] latencies;
+        private final double seconds;
+
+        Report(long[] latencies, double seconds) {
+            this.latencies = latencies;
+            this.seconds = seconds;
+            Arrays.sort(this.latencies);
+        }
+
+        public long requests() {
+            return latencies.length;
+        }
+
+        // Latency percentile in microseconds, e.g. percentile(0.99)
+        public double percentileMicros(double fraction) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(fraction * latencies.length) - 1);
+            return latencies[Math.max(0, index)] / 1000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("guesses=%d rate=%.0f/s p50=%.1fus p99=%.1fus", requests(),
+                    requests() / seconds, percentileMicros(0.50), percentileMicros(0.99));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 7) {
+            System.err.println("Usage: LoadGenerator <host> <port> <colors> <secretLength> <connections>"
+                    + " <sessionsPerConnection> <guessesPerSession>");
+            System.exit(1);
+        }
+        Report report = run(args[0], Integer.parseInt(args[1]),
+                CodeSpace.of(Integer.parseInt(args[2]), Integer.parseInt(args[3])),
+                Integer.parseInt(args[4]), Integer.parseInt(args[5]), Integer.parseInt(args[6]));
+        System.out.println(report);
+    }
+
+    public static Report run(String host, int port, CodeSpace space, int connections, int sessionsPerConnection,
+                             int guessesPerSession) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(connections);
+        long start = System.nanoTime();
+        try {
+            List<Future<long[]>> clients = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                clients.add(pool.submit(() -> client(host, port, space, sessionsPerConnection, guessesPerSession)));
+            }
+            long[] all = new long[0];
+            for (Future<long[]> client : clients) {
+                long[] latencies = client.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            return new Report(all, (System.nanoTime() - start) / 1e9);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static long[] client(String host, int port, CodeSpace space, int sessions, int guesses)
+            throws IOException {
+        String[] labels = GameServer.hexLabels(space.colors());
+        long[] latencies = new long[sessions * guesses];
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            OutputStream out = socket.getOutputStream();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.US_ASCII));
+
+            long[] ids = new long[sessions];
+            for (int s = 0; s < sessions; s++) {
+                ids[s] = Long.parseLong(request(out, in, "NEW").substring(3));
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            StringBuilder code = new StringBuilder();
+            int n = 0;
+            for (int g = 0; g < guesses; g++) {
+                for (int s = 0; s < sessions; s++) {
+                    code.setLength(0);
+                    for (int p = 0; p < space.pegs(); p++) {
+                        code.append(labels[random.nextInt(space.colors())]);
+                    }
+                    long sent = System.nanoTime();
+                    String response = request(out, in, "GUESS " + ids[s] + " " + code);
+                    latencies[n++] = System.nanoTime() - sent;
+                    // A random guess can solve the session, which then takes no more
+                    if (!response.startsWith("SCORE") && !response.equals("ERR game over")) {
+                        throw new IOException("Unexpected response: " + response);
+                    }
+                }
+            }
+            for (long id : ids) {
+                request(out, in, "REVEAL " + id);
+            }
+        }
+        return latencies;
+    }
+
+    private static String request(OutputStream out, BufferedReader in, String line) throws IOException {
+        out.write((line + "\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return in.readLine();
+    }
+}
@@ -1,7 +1,11 @@
 package com.mastermind;
 
 import javax.swing.*;
+import java.awt.AWTEvent;
 import java.awt.Color;
+import java.awt.Toolkit;
+import java.awt.event.WindowEvent;
+import java.lang.management.ManagementFactory;
 
 public class Main {
     public static void main(String[] args) {
@@ -18,13 +22,39 @@ public class Main {
         String[] labels = {"R", "V", "A", "M", "N", "L"};
         int rounds = 10;
         int secretLength = 4;
+        Variant variant = new Variant(palette.length, secretLength, rounds, true);
 
-        // Create logic
-        MasterMindLogic logic = new MasterMindLogic(palette, secretLength, labels);
+        // Create logic; cheap, the score table is only built once the window is up
+        MasterMindLogic logic = new MasterMindLogic(variant, palette, labels);
+
+        // The window shows the empty board first and builds the controls right
+        // after; -Dmastermind.startup=eager builds everything before showing it
+        boolean fastStart = !"eager".equals(System.getProperty("mastermind.startup"));
+        if (Boolean.getBoolean("mastermind.startup.probe")) {
+            exitAfterFirstFrame();
+        }
 
         // Create UI
         SwingUtilities.invokeLater(() -> {
-            new MasterMindUI(palette, labels, rounds, logic);
+            new MasterMindUI(variant, palette, labels, logic, fastStart);
+            // The window is up; the score table used by Check and hints is built in the background
+            Thread warmUp = new Thread(logic::getScoreTable, "score-table");
+            warmUp.setDaemon(true);
+            warmUp.setPriority(Thread.MIN_PRIORITY);
+            warmUp.start();
         });
     }
+
+    // Startup probe for StartupHarness and the CDS training run: prints a line
+    // as soon as the first window opens, then exits once the events queued by
+    // then (the rest of the UI) have run, so their classes get archived too
+    private static void exitAfterFirstFrame() {
+        Toolkit.getDefaultToolkit().addAWTEventListener(e -> {
+            if (e.getID() == WindowEvent.WINDOW_OPENED) {
+                System.out.println("first-frame " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms");
+                System.out.flush();
+                SwingUtilities.invokeLater(() -> System.exit(0));
+            }
+        }, AWTEvent.WINDOW_EVENT_MASK);
+    }
 }
\ No newline at end of file
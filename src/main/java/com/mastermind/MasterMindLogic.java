@@ -1,36 +1,79 @@
 package com.mastermind;
 
 import java.awt.Color;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class MasterMindLogic {
 
     private Color[] SECRET;
+    // Packed form of SECRET, valid when the packed engine supports the code size
+    private int SECRET_CODE;
+    private long SECRET_COUNTS;
+    // Score table and secret index, when the variant is small enough for a table.
+    // The table is fetched on the first check, so building the logic stays cheap;
+    // racing threads all get the same shared table.
+    private boolean USE_TABLE;
+    private ScoreTable TABLE;
+    private int SECRET_INDEX;
     private final Color[] PALETTE;
-    private final String[] LABELS;
+    // Palette colors and labels interned to indices
+    private final Palette COLORS;
+    private final Variant VARIANT;
 
     // Constructor
     public MasterMindLogic(Color[] palette, int secretLength, String[] labels) {
+        this(new Variant(palette.length, secretLength, 10, true), palette, labels);
+    }
+
+    // Constructor for any variant; the palette must have one color per variant color
+    public MasterMindLogic(Variant variant, Color[] palette, String[] labels) {
+        if (palette.length != variant.colors()) {
+            throw new IllegalArgumentException("Palette has " + palette.length + " colors, variant needs "
+                    + variant.colors());
+        }
         this.PALETTE = palette;
-        init(secretLength);
-        this.LABELS = labels;
+        this.COLORS = new Palette(palette, labels);
+        this.VARIANT = variant;
+        init(variant.pegs());
     }
 
 	public void init(int secretLength) {
 		this.SECRET = generateSecret(secretLength);
+		this.TABLE = null;
+		this.USE_TABLE = false;
+		if (isPacked()) {
+			this.SECRET_CODE = encode(SECRET);
+			this.SECRET_COUNTS = PackedScorer.colorCounts(SECRET_CODE, SECRET.length);
+			if (VARIANT != null && VARIANT.pegs() == SECRET.length
+					&& VARIANT.representation() == Variant.Representation.TABLE) {
+				this.USE_TABLE = true;
+				this.SECRET_INDEX = getCodeSpace().indexOf(SECRET_CODE);
+			}
+		}
 	}
     
     public MasterMindLogic() {
     	this.PALETTE = new Color[]{Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW};
-		this.LABELS = new String[]{"R", "G", "B", "Y"};
+		this.COLORS = new Palette(PALETTE, new String[]{"R", "G", "B", "Y"});
+		this.VARIANT = null;
 	}
 
     // Secret generator
     public Color[] generateSecret(int secretLength) {
-        Random random = new Random();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
         Color[] secret = new Color[secretLength];
+        if (VARIANT != null && !VARIANT.allowsRepeats()) {
+            // Partial shuffle of the palette: every color at most once
+            Color[] shuffled = PALETTE.clone();
+            for (int i = 0; i < secretLength; i++) {
+                int j = i + random.nextInt(shuffled.length - i);
+                Color swap = shuffled[i];
+                shuffled[i] = shuffled[j];
+                shuffled[j] = swap;
+                secret[i] = shuffled[i];
+            }
+            return secret;
+        }
         for (int i = 0; i < secretLength; i++) {
             secret[i] = PALETTE[random.nextInt(PALETTE.length)];
         }
@@ -39,34 +82,136 @@ public class MasterMindLogic {
 
     // Check guess and return the number of black and white pins
     public Result checkGuess(Color[] guess) {
-        int blacks = 0;
-        int whites = 0;
+        if (!EngineMetrics.ENABLED) {
+            return evaluate(guess);
+        }
+        long start = System.nanoTime();
+        Result result = evaluate(guess);
+        EngineMetrics.global().checkGuessTook(System.nanoTime() - start);
+        return result;
+    }
 
-        // Storing colors for white pin calculation
-        ArrayList<Color> guessSlots = new ArrayList<>();
-        ArrayList<Color> secretSlots = new ArrayList<>();
+    private Result evaluate(Color[] guess) {
+        ScoreTable table = TABLE;
+        if (table == null && USE_TABLE) {
+            table = getScoreTable();
+            TABLE = table;
+        }
+        if (table != null) {
+            int score = table.score(table.space().indexOf(encode(guess)), SECRET_INDEX);
+            return new Result(PackedScorer.blacksOf(score), PackedScorer.whitesOf(score));
+        }
+        if (isPacked()) {
+            int score = score(encode(guess));
+            return new Result(PackedScorer.blacksOf(score), PackedScorer.whitesOf(score));
+        }
 
-        // Count black pins
-        for (int i = 0; i < SECRET.length; i++) {
-            Color g = guess[i];
-            Color s = SECRET[i];
-            if (g == s) {
+        // Codes too large for the packed engine: plain index arrays
+        int[] guessPegs = COLORS.indicesOf(guess);
+        int[] secretPegs = COLORS.indicesOf(SECRET);
+        int[] guessCounts = new int[PALETTE.length];
+        int[] secretCounts = new int[PALETTE.length];
+        int blacks = 0;
+        for (int i = 0; i < secretPegs.length; i++) {
+            if (guessPegs[i] == secretPegs[i]) {
                 blacks++;
             } else {
-                guessSlots.add(g);
-                secretSlots.add(s);
+                guessCounts[guessPegs[i]]++;
+                secretCounts[secretPegs[i]]++;
             }
         }
+        int whites = 0;
+        for (int c = 0; c < PALETTE.length; c++) {
+            whites += Math.min(guessCounts[c], secretCounts[c]);
+        }
+        return new Result(blacks, whites);
+    }
 
-        // Count white pins
-        for (Color guessSlot : guessSlots) {
-            if (secretSlots.contains(guessSlot)) {
-                whites++;
-                secretSlots.remove(guessSlot);
-            }
+    // Scores a packed guess against the secret, returning a packed black/white score
+    public int scoreGuess(int guessCode) {
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.global().guessesScored(1);
         }
+        return score(guessCode);
+    }
 
-        return new Result(blacks, whites);
+    // Uncounted scoring, for checkGuess which counts its own calls
+    private int score(int guessCode) {
+        // Scoring is symmetric, so the secret color counts can be reused
+        return PackedScorer.score(SECRET_CODE, SECRET_COUNTS, guessCode, SECRET.length);
+    }
+
+    // Packed score of each of the first count packed guesses against the secret, into out.
+    // Large batches are scored on every core.
+    public void scoreGuesses(int[] guesses, int count, int[] out) {
+        if (!isPacked()) {
+            throw new IllegalStateException("Batch scoring needs a secret that fits the packed engine");
+        }
+        BatchScorer.scoreGuesses(guesses, count, SECRET_CODE, out, SECRET.length);
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.global().guessesScored(count);
+        }
+    }
+
+    // True if the secret fits in the packed engine
+    public boolean isPacked() {
+        return SECRET != null && PackedScorer.supports(PALETTE.length, SECRET.length);
+    }
+
+    // Space of every possible code, or null if the secret does not fit the packed
+    // engine or the board has more codes than an int can number
+    public CodeSpace getCodeSpace() {
+        return isPacked() && CodeSpace.fits(PALETTE.length, SECRET.length)
+                ? CodeSpace.of(PALETTE.length, SECRET.length) : null;
+    }
+
+    // Shared score lookup table for this configuration, built on first use.
+    // Null when the codes are not packed or the table would exceed the memory cap.
+    public ScoreTable getScoreTable() {
+        CodeSpace space = getCodeSpace();
+        return space == null ? null : ScoreTable.forSpace(space);
+    }
+
+    // Codes of this palette and secret length that follow the variant rules,
+    // enumerated lazily and narrowed by guess history; for boards too large to list
+    public CandidateStream candidateStream() {
+        CodeSpace space = getCodeSpace();
+        if (space == null) {
+            throw new IllegalStateException("Streaming needs a secret that fits the packed engine");
+        }
+        return new CandidateStream(space, VARIANT);
+    }
+
+    // Independent game with its own secret, sharing this palette and secret length.
+    // Sessions can be played concurrently, unlike the single SECRET of this class.
+    public GameSession newSession(SecretGenerator generator) {
+        CodeSpace space = getCodeSpace();
+        if (space == null) {
+            throw new IllegalStateException("Sessions need a secret that fits the packed engine");
+        }
+        if (VARIANT == null || VARIANT.allowsRepeats()) {
+            return GameSession.start(space, generator);
+        }
+        int secret;
+        do {
+            secret = space.codeAt(generator.nextSecret(space));
+        } while (!VARIANT.isAllowed(secret));
+        return new GameSession(space, secret);
+    }
+
+    // Rules this logic was built for, or null for the default constructor
+    public Variant getVariant() {
+        return VARIANT;
+    }
+
+    // Packs a code of palette colors
+    public int encode(Color[] code) {
+        return COLORS.encode(code);
+    }
+
+    // Colors and labels of this game
+    public Palette getPalette() {
+        return COLORS;
     }
 
     // Result structure
@@ -81,15 +226,6 @@ public class MasterMindLogic {
 
     // Returns the correct answer as a String of labels. Example: RVLR
     public String showSecret() {
-        StringBuilder result = new StringBuilder();
-        for (Color c : SECRET) {
-            for (int i = 0; i < PALETTE.length; i++) {
-                if (PALETTE[i].equals(c)) {
-                    result.append(LABELS[i]);
-                    break;
-                }
-            }
-        }
-        return result.toString();
+        return COLORS.format(SECRET);
     }
 }
\ No newline at end of file
@@ -1,67 +1,43 @@
 package com.mastermind;
 import java.awt.*;
 import javax.swing.*;
-import java.util.List;
-import java.util.ArrayList;
 
 public class MasterMindUI {
 
     // ----- Constants -----
-    private static final int PIN_SIZE = 10;
-    private static final int GUESS_SIZE = 35;
     private static final int BUTTON_SIZE = 50;
+    // Consistent codes sampled for hints on boards too large to list them
+    private static final int HINT_SAMPLE = 4096;
     // Colors
     private static final Color BG_COLOR = new Color(141, 69, 220);
     private static final Color BASE_COLOR = new Color(187, 183, 172);
-    private Color selectedColor = null;
     // Game logic
     private final MasterMindLogic LOGIC;
-
-    // Stores each row of guessed colors (4 circles per row)
-    private ArrayList<Circle[]> guessRows = new ArrayList<>();
-
-    // Stores each row of feedback pins (black/white pins for each guess)
-    private ArrayList<Circle[]> pinRows = new ArrayList<>();
-
-    private int currentRow = 0;
-
-    // Circle class for rounded objects
-    private static class Circle extends JButton {
-        private Color color;
-        private final int diameter;
-
-        public Circle(Color color, int diameter, boolean clickable) {
-            this.color = color;
-            this.diameter = diameter;
-            setContentAreaFilled(false);
-            setBorderPainted(false);
-            setFocusPainted(false);
-            setOpaque(false);
-            setEnabled(clickable);
-        }
-
-        @Override
-        protected void paintComponent(Graphics g) {
-            g.setColor(color);
-            g.fillOval(0, 0, diameter, diameter); // use diameter instead of getWidth()/getHeight() if you want consistent circles
-            super.paintComponent(g);
-        }
-
-        @Override
-        public Dimension getPreferredSize() {
-            return new Dimension(diameter, diameter);
-        }
-
-        public void setCircleColor(Color c) {
-            this.color = c;
-            repaint();
-        }
-
-        public Color getColor() {
-            return color;
-        }
-    }
-
+    private final Color[] PALETTE;
+    private final Palette COLORS;
+    // Scores guesses and computes hints off the Event Dispatch Thread
+    private final GuessEvaluator EVALUATOR;
+    // True if hints may come from the minimax opening book
+    private final boolean BOOK_HINTS;
+    // Board size and rules
+    private final Variant VARIANT;
+
+    // Codes still consistent with the checked rows, created on the first check.
+    // Boards too large for a bitset stream them instead.
+    private CandidateSet candidates;
+    private CandidateStream stream;
+    private JLabel possibleLabel;
+    // Inline feedback instead of modal dialogs
+    private JLabel statusLabel;
+
+    // Slots, feedback, current row and selected color; the board only renders it
+    private final GameModel MODEL;
+    // Board with every guess slot and feedback pin
+    private BoardComponent board;
+
+    // Code index and packed score of the first checked row, for the opening book
+    private int firstGuess = -1;
+    private int firstScore;
 
     // ----- Helper functions -----
     // Create styled JButton
@@ -75,59 +51,41 @@ public class MasterMindUI {
         return b;
     }
 
-    // Pin panel for feedback
-    private JPanel createPinPanel() {
-        JPanel pinPanel = new JPanel();
-        Circle[] pinArray = new Circle[4];
-
-        pinPanel.setBackground(BG_COLOR);
-        pinPanel.setLayout(new GridLayout(2, 2, 5, 5));
-
-        for (int j = 0; j < 4; j++) {
-            Circle pin = new Circle(BASE_COLOR, PIN_SIZE, false);
-            pinArray[j] = pin;
-            pinPanel.add(pin);
-        }
-
-        pinRows.add(pinArray);
-
-        return pinPanel;
+    // Board painted as one component; clicks color the slots of the current row
+    private BoardComponent createBoard() {
+        BoardComponent boardComponent = new BoardComponent(VARIANT.rounds(), VARIANT.pegs(), BG_COLOR, BASE_COLOR);
+        boardComponent.setSlotListener((row, slot) -> {
+            // Only allow coloring the CURRENT row
+            if (row == MODEL.currentRow() && MODEL.accepts(GameModel.placePeg(slot))) {
+                // Editing the row makes any pending check or hint stale; a count of
+                // the rows already checked is kept
+                EVALUATOR.cancel();
+                statusLabel.setText(" ");
+                MODEL.apply(GameModel.placePeg(slot));
+                render();
+            }
+        });
+        return boardComponent;
     }
 
-    // Guess slots panel
-    private JPanel createGuessPanel() {
-        JPanel guessPanel = new JPanel();
-        Circle[] guessArray = new Circle[4];
-        guessPanel.setBackground(BG_COLOR);
-        guessPanel.setLayout(new FlowLayout(FlowLayout.LEFT, 5, 5));
-
-        for (int j = 0; j < 4; j++) {
-            Circle slot = new Circle(BASE_COLOR, GUESS_SIZE, true);
-            guessArray[j] = slot;
-            int rowIndex = guessRows.size();  // save the row index before adding
-            slot.addActionListener(e -> {
-                // Only allow coloring the CURRENT row
-                if (rowIndex == currentRow && selectedColor != null) {
-                    slot.setCircleColor(selectedColor);
+    // Copies the rows the model changed to the board, repainting only slots and pins that differ
+    private void render() {
+        for (int row = MODEL.changedFrom(); row <= MODEL.changedTo(); row++) {
+            int blacks = MODEL.blacks(row);
+            int whites = MODEL.whites(row);
+            for (int i = 0; i < board.pegs(); i++) {
+                int color = MODEL.colorAt(row, i);
+                Color slot = color < 0 ? BASE_COLOR : PALETTE[color];
+                if (!slot.equals(board.getSlotColor(row, i))) {
+                    board.setSlotColor(row, i, slot);
                 }
-            });
-
-            guessPanel.add(slot);
+                Color pin = i < blacks ? Color.BLACK : i < blacks + whites ? Color.WHITE : BASE_COLOR;
+                if (!pin.equals(board.getPinColor(row, i))) {
+                    board.setPinColor(row, i, pin);
+                }
+            }
         }
-        guessRows.add(guessArray);
-        return guessPanel;
-    }
-
-    // Round row,
-    private JPanel createRoundRow() {
-        JPanel roundPanel = new JPanel();
-        roundPanel.setBackground(BG_COLOR);
-        roundPanel.setLayout(new FlowLayout(FlowLayout.CENTER, 50, 0));
-
-        roundPanel.add(createPinPanel());
-        roundPanel.add(createGuessPanel());
-
-        return roundPanel;
+        MODEL.clearChanges();
     }
 
     // Label showing selected color
@@ -139,28 +97,105 @@ public class MasterMindUI {
         return label;
     }
 
-    private void colorPins(Circle[] pins, MasterMindLogic.Result result) {
-        int blacks = result.blacks;
-        int whites = result.whites;
+    // Codes still possible, or null if the board is too large to track them in memory
+    private CandidateSet candidates() {
+        if (candidates == null && VARIANT.codeSpace() != null && !CandidateStream.isNeeded(VARIANT.codeSpace())) {
+            candidates = new CandidateSet(VARIANT.codeSpace());
+            candidates.retainAllowed(VARIANT);
+        }
+        return candidates;
+    }
+
+    // Guesses so far on boards too large for candidates(), or null
+    private CandidateStream stream() {
+        if (stream == null && VARIANT.codeSpace() != null && CandidateStream.isNeeded(VARIANT.codeSpace())) {
+            stream = new CandidateStream(VARIANT.codeSpace(), VARIANT);
+        }
+        return stream;
+    }
 
-        if (blacks == 4) {
-            JOptionPane.showMessageDialog(null, "You guessed it!");
+    // Narrows the possible codes with the result of the checked row
+    private void updateCandidates(Color[] guess, MasterMindLogic.Result result) {
+        int score = PackedScorer.result(result.blacks, result.whites);
+        if (stream() != null) {
+            // Counting means a pass over the whole board, so it runs in the background
+            stream.narrow(COLORS.encode(guess), score);
+            possibleLabel.setText("Counting possible codes...");
+            EVALUATOR.count(stream, scan -> possibleLabel.setText(scan.count() + " codes still possible"));
             return;
-        } else {
-            JOptionPane.showMessageDialog(null, "Black: " + blacks + ". White: " + whites);
         }
-        if (currentRow == 9) {
-            JOptionPane.showMessageDialog(null, "You lost, the answer was: " + LOGIC.showSecret());
+        if (candidates() == null) {
+            return;
         }
-        for (int i = 0; i < 4; i++) {
-            if (blacks > 0) {
-                pins[i].setCircleColor(Color.BLACK);
-                blacks--;
-            } else if (whites > 0) {
-                pins[i].setCircleColor(Color.WHITE);
-                whites--;
+        candidates.narrow(COLORS.encode(guess), score);
+        possibleLabel.setText(candidates.cardinality() + " codes still possible");
+    }
+
+    // Records the checked row in the model, then shows its pins and the outcome
+    private void showResult(int row, MasterMindLogic.Result result) {
+        MODEL.apply(GameModel.checkRow(result.blacks, result.whites));
+        render();
+
+        if (MODEL.isWon()) {
+            if (EngineMetrics.ENABLED) {
+                EngineMetrics.global().gameFinished(row + 1);
             }
+            statusLabel.setText("You guessed it!");
+        } else if (MODEL.isLost()) {
+            if (EngineMetrics.ENABLED) {
+                EngineMetrics.global().gameFinished(-1);
+            }
+            statusLabel.setText("You lost, the answer was: " + LOGIC.showSecret());
+        } else {
+            statusLabel.setText("Black: " + result.blacks + ". White: " + result.whites);
+        }
+    }
+
+    // Suggests a next guess among the codes still possible, computed in the background
+    private void requestHint() {
+        if (stream() != null) {
+            requestStreamedHint();
+            return;
         }
+        CandidateSet possible = candidates();
+        if (possible == null) {
+            statusLabel.setText("No hints for a board this large");
+            return;
+        }
+        if (possible.cardinality() == 0) {
+            statusLabel.setText("No code fits the feedback");
+            return;
+        }
+        CodeSpace space = possible.space();
+        // The first two minimax moves are precomputed
+        OpeningBook book = BOOK_HINTS ? OpeningBook.forSpace(space) : null;
+        int known = book == null ? -1 : book.lookup(MODEL.currentRow(), firstGuess, firstScore);
+        if (known >= 0) {
+            showHint(space, known);
+            return;
+        }
+        int[] snapshot = new int[possible.cardinality()];
+        int count = possible.toArray(snapshot);
+        statusLabel.setText("Thinking...");
+        EVALUATOR.suggest(space, snapshot, count, guess -> showHint(space, guess));
+    }
+
+    // Hint for a streamed board: the strategy picks among a sample of the possible codes
+    private void requestStreamedHint() {
+        CodeSpace space = stream.space();
+        statusLabel.setText("Thinking...");
+        EVALUATOR.scan(stream, HINT_SAMPLE, scan -> {
+            if (scan.count() == 0) {
+                statusLabel.setText("No code fits the feedback");
+                return;
+            }
+            EVALUATOR.suggest(space, scan.sample(), scan.sample().length, guess -> showHint(space, guess));
+        });
+    }
+
+    private void showHint(CodeSpace space, int guess) {
+        StringBuilder hint = new StringBuilder("Hint: ");
+        statusLabel.setText(COLORS.formatTo(hint, space.codeAt(guess), space.pegs()).toString());
     }
 
     // Bottom panel with colors & button
@@ -172,42 +207,51 @@ public class MasterMindUI {
 
         JPanel controlPanel = new JPanel();
         controlPanel.setBackground(BG_COLOR);
-        controlPanel.setLayout(new GridLayout(1, 2, 10, 0));
-        controlPanel.setPreferredSize(new Dimension(200, 50));
+        controlPanel.setLayout(new GridLayout(1, 3, 10, 0));
+        controlPanel.setPreferredSize(new Dimension(300, 50));
 
         JButton checkBtn = createStyledButton("Check", BASE_COLOR, BUTTON_SIZE);
         checkBtn.addActionListener(e -> {
-            Circle[] currentGuess = guessRows.get(currentRow);
-
-            // Check if any slot is still BASE_COLOR
-            boolean allFilled = true;
-            for (Circle slot : currentGuess) {
-                if (slot.getColor().equals(BASE_COLOR)) {
-                    allFilled = false;
-                    break;
-                }
+            if (!MODEL.isPlaying()) {
+                return;
             }
+            if (MODEL.isRowFull()) {
+                int row = MODEL.currentRow();
+                Color[] colorsRound = new Color[board.pegs()];
 
-            if (allFilled) {
-                Circle[] current = guessRows.get(currentRow);
-                Color[] colorsRound = new Color[current.length];
-
-                for (int i = 0; i < current.length; i++) {
-                    colorsRound[i] = current[i].color;
+                for (int i = 0; i < colorsRound.length; i++) {
+                    colorsRound[i] = PALETTE[MODEL.colorAt(row, i)];
                 }
 
-                colorPins(pinRows.get(currentRow), LOGIC.checkGuess(colorsRound));
-                // Move on to the next row
-                currentRow++;
+                // A hint still computing would land after the row is scored
+                EVALUATOR.cancelHints();
+                statusLabel.setText("Checking...");
+                EVALUATOR.evaluate(colorsRound, result -> {
+                    // Ignore a second check of a row already scored
+                    if (row != MODEL.currentRow()) {
+                        return;
+                    }
+                    if (row == 0 && candidates() != null) {
+                        firstGuess = candidates.space().indexOf(COLORS.encode(colorsRound));
+                        firstScore = PackedScorer.result(result.blacks, result.whites);
+                    }
+                    updateCandidates(colorsRound, result);
+                    // Moves on to the next row
+                    showResult(row, result);
+                });
             } else {
                 // Show warning that row is incomplete
-                JOptionPane.showMessageDialog(null, "Please fill all slots before checking!");
+                statusLabel.setText("Please fill all slots before checking!");
             }
         });
 
+        JButton hintBtn = createStyledButton("Hint", BASE_COLOR, BUTTON_SIZE);
+        hintBtn.addActionListener(e -> requestHint());
+
         JLabel selected = createColorDisplayLabel(BASE_COLOR, BUTTON_SIZE);
 
         controlPanel.add(checkBtn);
+        controlPanel.add(hintBtn);
         controlPanel.add(selected);
 
         JPanel colorPanel = new JPanel();
@@ -216,43 +260,84 @@ public class MasterMindUI {
 
         for (int i = 0; i < colors.length; i++) {
             JButton btn = createStyledButton(labels[i], colors[i], BUTTON_SIZE);
-            final Color chosen = colors[i];
+            final int chosen = i;
             // Change the color of selected label
             btn.addActionListener(e -> {
-                selectedColor = chosen;
-                selected.setBackground(selectedColor);
+                if (MODEL.apply(GameModel.selectColor(chosen))) {
+                    selected.setBackground(colors[chosen]);
+                }
             });
 
             colorPanel.add(btn);
         }
 
+        possibleLabel = new JLabel(" ", SwingConstants.CENTER);
+        statusLabel = new JLabel(" ", SwingConstants.CENTER);
+
+        JPanel infoPanel = new JPanel(new GridLayout(2, 1));
+        infoPanel.setBackground(BG_COLOR);
+        infoPanel.add(statusLabel);
+        infoPanel.add(possibleLabel);
+
         bottomPanel.add(colorPanel, BorderLayout.WEST);
         bottomPanel.add(controlPanel, BorderLayout.EAST);
+        bottomPanel.add(infoPanel, BorderLayout.SOUTH);
 
         return bottomPanel;
     }
 
-    // Main UI
+    // Main UI for the classic 4-peg board
     public MasterMindUI(Color[] colors, String[] labels, int rounds, MasterMindLogic logic) {
+        this(new Variant(colors.length, 4, rounds, true), colors, labels, logic);
+    }
+
+    // Main UI with the board built from the variant
+    public MasterMindUI(Variant variant, Color[] colors, String[] labels, MasterMindLogic logic) {
+        this(variant, colors, labels, logic, false);
+    }
+
+    // With fastStart the window appears with just the empty board and the
+    // controls are built on the next turn of the Event Dispatch Thread
+    public MasterMindUI(Variant variant, Color[] colors, String[] labels, MasterMindLogic logic, boolean fastStart) {
         this.LOGIC = logic;
+        this.PALETTE = colors;
+        this.COLORS = new Palette(colors, labels);
+        this.VARIANT = variant;
+        this.MODEL = new GameModel(variant.rounds(), variant.pegs(), colors.length);
+        // Minimax when the score table fits, otherwise max entropy;
+        // -Dmastermind.hints=entropy asks for max entropy on every board
+        boolean minimax = variant.representation() == Variant.Representation.TABLE
+                && !"entropy".equals(System.getProperty("mastermind.hints"));
+        GuessStrategy hints = minimax ? new MinimaxStrategy() : new EntropyHintStrategy();
+        // Books assume every code is possible, so not for boards without repeats
+        this.BOOK_HINTS = hints instanceof MinimaxStrategy && variant.allowsRepeats();
+        this.EVALUATOR = new GuessEvaluator(logic, hints, SwingUtilities::invokeLater);
 
         // Main frame
         JFrame frame = new JFrame("MasterMind");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.setLayout(new BorderLayout());
-        // Frame with rounds
-        JPanel centerPanel = new JPanel();
-        centerPanel.setBackground(BG_COLOR);
-        centerPanel.setLayout(new GridLayout(rounds, 1, 0, 0));
-        // Creating rounds
-        for (int i = 0; i < rounds; i++) {
-            centerPanel.add(createRoundRow());
+        // Board with every round
+        board = createBoard();
+        frame.add(board, BorderLayout.CENTER);
+        if (!fastStart) {
+            // Creating panel with buttons
+            frame.add(createBottomPanel(colors, labels), BorderLayout.SOUTH);
+            frame.pack();
+            frame.setVisible(true);
+            return;
         }
-        frame.add(centerPanel, BorderLayout.CENTER);
-        // Creating panel with buttons
-        frame.add(createBottomPanel(colors, labels), BorderLayout.SOUTH);
-
+        // Keep room for the controls so the window barely moves when they arrive
+        JPanel placeholder = new JPanel();
+        placeholder.setBackground(BG_COLOR);
+        placeholder.setPreferredSize(new Dimension(0, 2 * BUTTON_SIZE + 20));
+        frame.add(placeholder, BorderLayout.SOUTH);
         frame.pack();
         frame.setVisible(true);
+        SwingUtilities.invokeLater(() -> {
+            frame.remove(placeholder);
+            frame.add(createBottomPanel(colors, labels), BorderLayout.SOUTH);
+            frame.pack();
+        });
     }
 }
\ No newline at end of file
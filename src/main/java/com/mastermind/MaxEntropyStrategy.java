@@ -0,0 +1,22 @@
+package com.mastermind;
+
+// Guesses the code whose feedback carries the most information: the highest
+// entropy of the partition sizes, i.e. the lowest sum of n * log(n).
+public final class MaxEntropyStrategy extends PartitionStrategy {
+
+    @Override
+    protected double cost(int[] histogram, int count) {
+        double sum = 0;
+        for (int n : histogram) {
+            if (n > 1) {
+                sum += n * Math.log(n);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "entropy";
+    }
+}
@@ -0,0 +1,155 @@
+package com.mastermind;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Knuth's minimax: guess the code whose largest feedback partition of the
+// candidates is smallest. Ties prefer a consistent candidate, then the lowest index.
+// Every code of the space, or one per symmetry class, is tried as a guess; the
+// guesses are split across cores.
+public final class MinimaxStrategy implements GuessStrategy {
+
+    // Minimum guess x candidate pairs handled by one fork/join leaf
+    private static final int LEAF_WORK = 1 << 14;
+
+    // First guess of each space, when every code is still a candidate
+    private final ConcurrentHashMap<CodeSpace, Integer> FIRST_GUESSES = new ConcurrentHashMap<>();
+    private final boolean PARALLEL;
+
+    public MinimaxStrategy() {
+        this(true);
+    }
+
+    public MinimaxStrategy(boolean parallel) {
+        this.PARALLEL = parallel;
+    }
+
+    @Override
+    public String name() {
+        return "minimax";
+    }
+
+    @Override
+    public boolean searchesSpace() {
+        return true;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
+    @Override
+    public int chooseGuess(CodeSpace space, int[] candidates, int count) {
+        return chooseGuess(space, candidates, count, null);
+    }
+
+    @Override
+    public int chooseGuess(CodeSpace space, int[] candidates, int count, int[] guesses) {
+        if (count == 1) {
+            return candidates[0];
+        }
+        if (count == space.size()) {
+            return FIRST_GUESSES.computeIfAbsent(space, key -> search(key, candidates, count, guesses));
+        }
+        return search(space, candidates, count, guesses);
+    }
+
+    // Worst-case partition size of a guess, the quantity minimax minimizes
+    public static int worstCase(CodeSpace space, int guess, int[] candidates, int count) {
+        int[] histogram = new int[histogramSize(space)];
+        return fillHistogram(space, ScoreTable.forSpace(space), guess, candidates, count, histogram);
+    }
+
+    private int search(CodeSpace space, int[] candidates, int count, int[] guesses) {
+        PartitionTask task = new PartitionTask(space, ScoreTable.forSpace(space), candidates, count,
+                guesses, 0, guesses == null ? space.size() : guesses.length);
+        long best = PARALLEL ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+        return (int) (best & Integer.MAX_VALUE);
+    }
+
+    // True if the guess is one of the sorted candidates; a binary search rather
+    // than a bitset of the space, which would be huge on streamed boards
+    static boolean isCandidate(int[] candidates, int count, int guess) {
+        return Arrays.binarySearch(candidates, 0, count, guess) >= 0;
+    }
+
+    static int histogramSize(CodeSpace space) {
+        return (space.pegs() << 4) + 1;
+    }
+
+    // Counts the candidates per feedback of the guess, returning the largest count
+    static int fillHistogram(CodeSpace space, ScoreTable table, int guess, int[] candidates, int count,
+                             int[] histogram) {
+        Arrays.fill(histogram, 0);
+        int worst = 0;
+        if (table != null) {
+            for (int i = 0; i < count; i++) {
+                int n = ++histogram[table.score(guess, candidates[i])];
+                if (n > worst) {
+                    worst = n;
+                }
+            }
+        } else {
+            int pegs = space.pegs();
+            int guessCode = space.codeAt(guess);
+            long guessCounts = PackedScorer.colorCounts(guessCode, pegs);
+            for (int i = 0; i < count; i++) {
+                int n = ++histogram[PackedScorer.score(guessCode, guessCounts, space.codeAt(candidates[i]), pegs)];
+                if (n > worst) {
+                    worst = n;
+                }
+            }
+        }
+        return worst;
+    }
+
+    // Finds the best guess of a range (of code indices, or of the guesses array
+    // when there is one); the result packs (worst, inconsistent, guess) so that
+    // the smallest long is the best guess.
+    private final class PartitionTask extends RecursiveTask<Long> {
+        private final CodeSpace space;
+        private final ScoreTable table;
+        private final int[] candidates;
+        private final int count;
+        private final int[] guesses;
+        private final int from;
+        private final int to;
+
+        PartitionTask(CodeSpace space, ScoreTable table, int[] candidates, int count, int[] guesses,
+                      int from, int to) {
+            this.space = space;
+            this.table = table;
+            this.candidates = candidates;
+            this.count = count;
+            this.guesses = guesses;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (PARALLEL && (long) (to - from) * count > LEAF_WORK && to - from > 1) {
+                int mid = (from + to) >>> 1;
+                PartitionTask left = new PartitionTask(space, table, candidates, count, guesses, from, mid);
+                left.fork();
+                long right = new PartitionTask(space, table, candidates, count, guesses, mid, to).compute();
+                return Math.min(left.join(), right);
+            }
+            int[] histogram = new int[histogramSize(space)];
+            long best = Long.MAX_VALUE;
+            for (int g = from; g < to; g++) {
+                int guess = guesses == null ? g : guesses[g];
+                int worst = fillHistogram(space, table, guess, candidates, count, histogram);
+                long inconsistent = isCandidate(candidates, count, guess) ? 0 : 1L << 31;
+                long key = ((long) worst << 32) | inconsistent | guess;
+                if (key < best) {
+                    best = key;
+                }
+            }
+            return best;
+        }
+    }
+}
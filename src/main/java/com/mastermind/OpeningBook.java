@@ -0,0 +1,182 @@
+package com.mastermind;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Precomputed minimax openings of a code space: the first guess, and the best
+// second guess for every feedback the first guess can get. These are the two
+// most expensive minimax rounds, since the candidate set is at its largest.
+// Books ship as classpath resources (com/mastermind/openings/<colors>x<pegs>.book)
+// and are loaded the first time a space asks for one.
+// File (little endian): "MMOB", version, colors, pegs, entry count, first guess
+// index (4 bytes), then per entry the packed first score (1 byte) and the
+// second guess index (4 bytes).
+// Usage: OpeningBook <colors> <secretLength> <outputDir>
+public final class OpeningBook {
+
+    static final int MAGIC = 0x4D4D4F42;
+    static final byte VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final int ENTRY_BYTES = 5;
+
+    private static final ConcurrentHashMap<CodeSpace, Optional<OpeningBook>> BOOKS = new ConcurrentHashMap<>();
+
+    private final CodeSpace SPACE;
+    private final int FIRST;
+    // Second guess per packed first score, -1 where the score cannot happen or wins
+    private final int[] SECOND;
+
+    private OpeningBook(CodeSpace space, int first, int[] second) {
+        this.SPACE = space;
+        this.FIRST = first;
+        this.SECOND = second;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: OpeningBook <colors> <secretLength> <outputDir>");
+            System.exit(1);
+        }
+        CodeSpace space = CodeSpace.of(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+        long start = System.nanoTime();
+        OpeningBook book = compute(space, new MinimaxStrategy());
+        Path file = Path.of(args[2]).resolve(space + ".book");
+        Files.createDirectories(file.getParent());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            book.write(out);
+        }
+        System.out.printf("%s: %d second guesses in %d ms -> %s%n", space, book.entries(),
+                (System.nanoTime() - start) / 1_000_000, file);
+    }
+
+    // Book shipped for a space, or null if there is none
+    public static OpeningBook forSpace(CodeSpace space) {
+        return BOOKS.computeIfAbsent(space, OpeningBook::loadResource).orElse(null);
+    }
+
+    private static Optional<OpeningBook> loadResource(CodeSpace space) {
+        try (InputStream in = OpeningBook.class.getResourceAsStream("openings/" + space + ".book")) {
+            return in == null ? Optional.empty() : Optional.of(read(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Bad opening book for " + space, e);
+        }
+    }
+
+    // Plays the strategy against every first feedback of the space
+    public static OpeningBook compute(CodeSpace space, GuessStrategy strategy) {
+        int[] all = new int[space.size()];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i;
+        }
+        GuessSymmetry symmetry = GuessSymmetry.of(space);
+        int first = strategy.chooseGuess(space, all, all.length, symmetry.representatives());
+
+        // Candidates grouped by the score they give the first guess, each group sorted
+        int[] scores = new int[all.length];
+        int[] sizes = new int[MinimaxStrategy.histogramSize(space)];
+        BatchScorer.scoreIndices(space, first, all, all.length, scores);
+        for (int score : scores) {
+            sizes[score]++;
+        }
+
+        int[] second = new int[sizes.length];
+        Arrays.fill(second, -1);
+        int win = PackedScorer.result(space.pegs(), 0);
+        int[] pool = symmetry.after(space.codeAt(first)).representatives();
+        int[] group = new int[all.length];
+        for (int score = 0; score < sizes.length; score++) {
+            if (sizes[score] == 0 || score == win) {
+                continue;
+            }
+            int count = 0;
+            for (int i = 0; i < all.length; i++) {
+                if (scores[i] == score) {
+                    group[count++] = i;
+                }
+            }
+            second[score] = strategy.chooseGuess(space, group, count, pool);
+        }
+        return new OpeningBook(space, first, second);
+    }
+
+    public static OpeningBook read(InputStream in) throws IOException {
+        ByteBuffer header = ByteBuffer.wrap(in.readNBytes(HEADER_BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+        if (header.limit() < HEADER_BYTES || header.getInt() != MAGIC || header.get() != VERSION) {
+            throw new IOException("Not an opening book");
+        }
+        CodeSpace space = CodeSpace.of(header.get(), header.get());
+        int entries = header.get() & 0xFF;
+        int first = header.getInt();
+        ByteBuffer body = ByteBuffer.wrap(in.readNBytes(entries * ENTRY_BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+        if (body.limit() < entries * ENTRY_BYTES || first < 0 || first >= space.size()) {
+            throw new IOException("Truncated opening book for " + space);
+        }
+        int[] second = new int[MinimaxStrategy.histogramSize(space)];
+        Arrays.fill(second, -1);
+        for (int i = 0; i < entries; i++) {
+            int score = body.get() & 0xFF;
+            int guess = body.getInt();
+            if (score >= second.length || guess < 0 || guess >= space.size()) {
+                throw new IOException("Bad opening book entry for " + space);
+            }
+            second[score] = guess;
+        }
+        return new OpeningBook(space, first, second);
+    }
+
+    public void write(OutputStream out) throws IOException {
+        int entries = entries();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + entries * ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).put(VERSION).put((byte) SPACE.colors()).put((byte) SPACE.pegs()).put((byte) entries);
+        buffer.putInt(FIRST);
+        for (int score = 0; score < SECOND.length; score++) {
+            if (SECOND[score] >= 0) {
+                buffer.put((byte) score).putInt(SECOND[score]);
+            }
+        }
+        out.write(buffer.array());
+    }
+
+    public CodeSpace space() {
+        return SPACE;
+    }
+
+    // Index of the first guess
+    public int first() {
+        return FIRST;
+    }
+
+    // Index of the second guess after the first guess got this packed score, or -1
+    public int second(int firstScore) {
+        return firstScore >= 0 && firstScore < SECOND.length ? SECOND[firstScore] : -1;
+    }
+
+    // Book move for a turn (0 or 1) of a game that started with firstGuess and got
+    // firstScore, or -1 if the book does not cover the position
+    public int lookup(int turn, int firstGuess, int firstScore) {
+        if (turn == 0) {
+            return FIRST;
+        }
+        return turn == 1 && firstGuess == FIRST ? second(firstScore) : -1;
+    }
+
+    // Number of second guesses in the book
+    public int entries() {
+        int entries = 0;
+        for (int guess : SECOND) {
+            if (guess >= 0) {
+                entries++;
+            }
+        }
+        return entries;
+    }
+}
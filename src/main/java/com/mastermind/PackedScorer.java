@@ -0,0 +1,88 @@
+package com.mastermind;
+
+// Allocation-free scoring engine.
+// A code is an int with one nibble per peg (peg 0 in the lowest nibble), so up to
+// 8 pegs and 16 colors fit. Unused nibbles must be zero.
+// A score is packed as (blacks << 4) | whites.
+public final class PackedScorer {
+
+    public static final int MAX_PEGS = 8;
+    public static final int MAX_COLORS = 16;
+
+    // Lowest bit of every nibble
+    private static final int NIBBLE_LOW_BITS = 0x11111111;
+
+    private PackedScorer() {
+    }
+
+    // True if codes of this size can be packed into an int
+    public static boolean supports(int colors, int pegs) {
+        return colors > 0 && colors <= MAX_COLORS && pegs > 0 && pegs <= MAX_PEGS;
+    }
+
+    // Packs palette indices into a code
+    public static int pack(int[] pegs) {
+        int code = 0;
+        for (int i = pegs.length - 1; i >= 0; i--) {
+            code = (code << 4) | pegs[i];
+        }
+        return code;
+    }
+
+    // Palette index stored at the given position
+    public static int peg(int code, int position) {
+        return (code >>> (position << 2)) & 0xF;
+    }
+
+    // Per-color count array of a code, packed into a long (one nibble per color)
+    public static long colorCounts(int code, int pegs) {
+        long counts = 0;
+        for (int i = 0; i < pegs; i++) {
+            counts += 1L << (((code >>> (i << 2)) & 0xF) << 2);
+        }
+        return counts;
+    }
+
+    // Number of pegs with the same color in the same position
+    public static int blacks(int guess, int secret, int pegs) {
+        int diff = guess ^ secret;
+        // Fold every nibble into its lowest bit: 1 if the pegs differ
+        diff = (diff | (diff >>> 1) | (diff >>> 2) | (diff >>> 3)) & NIBBLE_LOW_BITS;
+        return pegs - Integer.bitCount(diff);
+    }
+
+    // Number of pegs shared by both codes regardless of position
+    public static int matches(long guessCounts, long secretCounts) {
+        int total = 0;
+        while (guessCounts != 0 && secretCounts != 0) {
+            total += (int) Math.min(guessCounts & 0xF, secretCounts & 0xF);
+            guessCounts >>>= 4;
+            secretCounts >>>= 4;
+        }
+        return total;
+    }
+
+    // Scores a guess against a secret
+    public static int score(int guess, int secret, int pegs) {
+        return score(guess, colorCounts(guess, pegs), secret, pegs);
+    }
+
+    // Same as score(int, int, int) with the guess color counts already computed
+    public static int score(int guess, long guessCounts, int secret, int pegs) {
+        int blacks = blacks(guess, secret, pegs);
+        int whites = matches(guessCounts, colorCounts(secret, pegs)) - blacks;
+        return (blacks << 4) | whites;
+    }
+
+    public static int result(int blacks, int whites) {
+        return (blacks << 4) | whites;
+    }
+
+    public static int blacksOf(int score) {
+        return score >>> 4;
+    }
+
+    public static int whitesOf(int score) {
+        return score & 0xF;
+    }
+}
@@ -0,0 +1,244 @@
+package com.mastermind;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Colors and their labels, interned to dense indices 0..size-1, for palettes
+// of any size. Colors are looked up by value (Color.equals), so equal but
+// distinct Color instances map to the same index. Both lookups are O(1):
+// colors through an open-addressed table keyed by ARGB, one-character ASCII
+// labels through a char table and any other label through a map.
+// Packed codes use the PackedScorer layout, one nibble per peg, so the methods
+// on packed codes need a palette of at most 16 colors; parsing packed codes
+// also needs one-character labels.
+public final class Palette {
+
+    private static final String HEX = "0123456789ABCDEF";
+
+    private final Color[] COLORS;
+    private final String[] LABELS;
+    // Open-addressed table: ARGB keys and their index + 1 (0 marks a free slot)
+    private final int[] COLOR_KEYS;
+    private final int[] COLOR_INDEX;
+    // One-character ASCII labels, and every other label
+    private final int[] CHAR_INDEX = new int[128];
+    private final Map<String, Integer> LABEL_INDEX = new HashMap<>();
+    private final boolean CHAR_LABELS;
+
+    public Palette(Color[] colors, String[] labels) {
+        if (colors.length != labels.length) {
+            throw new IllegalArgumentException("Need one label per color");
+        }
+        this.COLORS = colors.clone();
+        this.LABELS = labels.clone();
+        int capacity = Integer.highestOneBit(Math.max(1, colors.length) * 4);
+        this.COLOR_KEYS = new int[capacity];
+        this.COLOR_INDEX = new int[capacity];
+        Arrays.fill(CHAR_INDEX, -1);
+        boolean charLabels = true;
+        for (int i = 0; i < colors.length; i++) {
+            String label = labels[i];
+            if (label == null || label.isEmpty() || indexOf(label) >= 0) {
+                throw new IllegalArgumentException("Labels must be distinct and not empty: " + label);
+            }
+            if (label.length() == 1 && label.charAt(0) < 128) {
+                CHAR_INDEX[label.charAt(0)] = i;
+            } else {
+                LABEL_INDEX.put(label, i);
+                charLabels &= label.length() == 1;
+            }
+            if (indexOf(colors[i]) >= 0) {
+                throw new IllegalArgumentException("Color repeated in palette: " + colors[i]);
+            }
+            int slot = slotOf(colors[i].getRGB());
+            COLOR_KEYS[slot] = colors[i].getRGB();
+            COLOR_INDEX[slot] = i + 1;
+        }
+        this.CHAR_LABELS = charLabels;
+    }
+
+    // Palette labeled 0-9, A-F, for tools without a real palette
+    public static Palette hex(int colors) {
+        String[] labels = new String[colors];
+        for (int i = 0; i < colors; i++) {
+            labels[i] = String.valueOf(HEX.charAt(i));
+        }
+        return withLabels(labels);
+    }
+
+    // Palette for labels only, with evenly spread hues as colors
+    public static Palette withLabels(String[] labels) {
+        Color[] palette = new Color[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            palette[i] = Color.getHSBColor(i / (float) labels.length, 0.8f, 0.9f);
+        }
+        return new Palette(palette, labels);
+    }
+
+    public int size() {
+        return COLORS.length;
+    }
+
+    public Color color(int index) {
+        return COLORS[index];
+    }
+
+    public String label(int index) {
+        return LABELS[index];
+    }
+
+    // Index of a color, or -1 if it is not in the palette
+    public int indexOf(Color color) {
+        return COLOR_INDEX[slotOf(color.getRGB())] - 1;
+    }
+
+    // Index of a one-character label, or -1 if it is not a label
+    public int indexOf(char label) {
+        return label < 128 ? CHAR_INDEX[label] : indexOf(String.valueOf(label));
+    }
+
+    // Index of a label, or -1 if it is not a label
+    public int indexOf(String label) {
+        if (label.length() == 1 && label.charAt(0) < 128) {
+            return CHAR_INDEX[label.charAt(0)];
+        }
+        Integer index = LABEL_INDEX.get(label);
+        return index == null ? -1 : index;
+    }
+
+    // True if codes of this palette with the given number of pegs can be packed
+    public boolean packs(int pegs) {
+        return PackedScorer.supports(COLORS.length, pegs);
+    }
+
+    // Slot holding rgb, or the free slot where it would go
+    private int slotOf(int rgb) {
+        int mask = COLOR_KEYS.length - 1;
+        int slot = (rgb * 0x9E3779B9 >>> 16) & mask;
+        while (COLOR_INDEX[slot] != 0 && COLOR_KEYS[slot] != rgb) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Palette indices of a code of colors
+    public int[] indicesOf(Color[] code) {
+        int[] indices = new int[code.length];
+        for (int i = 0; i < code.length; i++) {
+            indices[i] = requireIndex(code[i]);
+        }
+        return indices;
+    }
+
+    // Packs a code of colors; only for codes that packs(code.length)
+    public int encode(Color[] code) {
+        requirePacked(code.length);
+        int packed = 0;
+        for (int i = code.length - 1; i >= 0; i--) {
+            packed = (packed << 4) | requireIndex(code[i]);
+        }
+        return packed;
+    }
+
+    public Color[] decode(int code, int pegs) {
+        requirePacked(pegs);
+        Color[] colors = new Color[pegs];
+        for (int i = 0; i < pegs; i++) {
+            colors[i] = COLORS[PackedScorer.peg(code, i)];
+        }
+        return colors;
+    }
+
+    // Packed code of a label string such as "RVLR", or -1 if it is malformed or
+    // the palette cannot pack it from one-character labels
+    public int parse(CharSequence text, int pegs) {
+        return parse(text, 0, text.length(), pegs);
+    }
+
+    private int parse(CharSequence text, int start, int end, int pegs) {
+        if (end - start != pegs || !CHAR_LABELS || !packs(pegs)) {
+            return -1;
+        }
+        int code = 0;
+        for (int i = end - 1; i >= start; i--) {
+            int index = indexOf(text.charAt(i));
+            if (index < 0) {
+                return -1;
+            }
+            code = (code << 4) | index;
+        }
+        return code;
+    }
+
+    public String format(int code, int pegs) {
+        return formatTo(new StringBuilder(pegs), code, pegs).toString();
+    }
+
+    public StringBuilder formatTo(StringBuilder out, int code, int pegs) {
+        for (int i = 0; i < pegs; i++) {
+            out.append(LABELS[PackedScorer.peg(code, i)]);
+        }
+        return out;
+    }
+
+    // Labels of a code of colors, e.g. RVLR; works for any palette and number of pegs
+    public String format(Color[] code) {
+        StringBuilder result = new StringBuilder(code.length);
+        for (Color c : code) {
+            result.append(LABELS[requireIndex(c)]);
+        }
+        return result.toString();
+    }
+
+    // Parses whitespace-separated codes into out and returns how many were read
+    public int parseAll(CharSequence text, int pegs, int[] out) {
+        int count = 0;
+        int i = 0;
+        int length = text.length();
+        while (true) {
+            while (i < length && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                return count;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            int code = parse(text, start, i, pegs);
+            if (code < 0) {
+                throw new IllegalArgumentException("Bad code: " + text.subSequence(start, i));
+            }
+            out[count++] = code;
+        }
+    }
+
+    // Appends the first count codes, separated by spaces
+    public StringBuilder formatAll(StringBuilder out, int[] codes, int count, int pegs) {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                out.append(' ');
+            }
+            formatTo(out, codes[i], pegs);
+        }
+        return out;
+    }
+
+    private void requirePacked(int pegs) {
+        if (!packs(pegs)) {
+            throw new IllegalStateException("Codes of " + COLORS.length + " colors and " + pegs
+                    + " pegs do not pack into an int");
+        }
+    }
+
+    private int requireIndex(Color color) {
+        int index = indexOf(color);
+        if (index < 0) {
+            throw new IllegalArgumentException("Color not in palette: " + color);
+        }
+        return index;
+    }
+}
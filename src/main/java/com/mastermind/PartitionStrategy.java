@@ -0,0 +1,51 @@
+package com.mastermind;
+
+// Strategies that rate every code of the space by how it would split the
+// candidates into feedback partitions, and guess the code with the lowest cost.
+// With a symmetry, only one code per class is rated.
+// Ties prefer a consistent candidate, then the lowest index, as in minimax.
+public abstract class PartitionStrategy implements GuessStrategy {
+
+    // Cost of a guess from its partition sizes; lower is better
+    protected abstract double cost(int[] histogram, int count);
+
+    @Override
+    public boolean searchesSpace() {
+        return true;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
+    @Override
+    public int chooseGuess(CodeSpace space, int[] candidates, int count) {
+        return chooseGuess(space, candidates, count, null);
+    }
+
+    @Override
+    public int chooseGuess(CodeSpace space, int[] candidates, int count, int[] guesses) {
+        if (count <= 2) {
+            return candidates[0];
+        }
+        ScoreTable table = ScoreTable.forSpace(space);
+        int[] histogram = new int[MinimaxStrategy.histogramSize(space)];
+        int best = -1;
+        double bestCost = Double.MAX_VALUE;
+        boolean bestConsistent = false;
+        int guessCount = guesses == null ? space.size() : guesses.length;
+        for (int g = 0; g < guessCount; g++) {
+            int guess = guesses == null ? g : guesses[g];
+            MinimaxStrategy.fillHistogram(space, table, guess, candidates, count, histogram);
+            double cost = cost(histogram, count);
+            boolean isConsistent = MinimaxStrategy.isCandidate(candidates, count, guess);
+            if (cost < bestCost || (cost == bestCost && isConsistent && !bestConsistent)) {
+                best = guess;
+                bestCost = cost;
+                bestConsistent = isConsistent;
+            }
+        }
+        return best;
+    }
+}
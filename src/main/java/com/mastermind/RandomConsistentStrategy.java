@@ -0,0 +1,33 @@
+package com.mastermind;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Guesses a uniformly random code among those still consistent with the feedback.
+// A seeded instance draws from its own generator, restarted by reseed(), so a
+// game replays exactly; it must not be shared between threads.
+public final class RandomConsistentStrategy implements GuessStrategy {
+
+    // Null draws from ThreadLocalRandom
+    private SplittableRandom random;
+
+    public RandomConsistentStrategy() {
+    }
+
+    public RandomConsistentStrategy(long seed) {
+        reseed(seed);
+    }
+
+    public void reseed(long seed) {
+        random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int chooseGuess(CodeSpace space, int[] candidates, int count) {
+        int pick = random != null ? random.nextInt(count) : ThreadLocalRandom.current().nextInt(count);
+        return candidates[pick];
+    }
+
+    @Override
+    public String name() { return "random"; }
+}
@@ -0,0 +1,78 @@
+package com.mastermind;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+// Precomputed packed scores for every guess/secret pair of a code space.
+// Rows are guesses and columns secrets, so one guess against many secrets
+// reads a contiguous slice of the array.
+public final class ScoreTable {
+
+    // Memory cap for shared tables, overridable with -Dmastermind.scoreTable.maxBytes
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    private static final ConcurrentHashMap<CodeSpace, ScoreTable> TABLES = new ConcurrentHashMap<>();
+
+    private final CodeSpace SPACE;
+    private final int SIZE;
+    private final byte[] SCORES;
+
+    private ScoreTable(CodeSpace space, byte[] scores) {
+        this.SPACE = space;
+        this.SIZE = space.size();
+        this.SCORES = scores;
+    }
+
+    // True if the table of this space stays under the memory cap
+    public static boolean fits(CodeSpace space, long maxBytes) {
+        long bytes = (long) space.size() * space.size();
+        return bytes <= maxBytes && bytes <= Integer.MAX_VALUE - 8;
+    }
+
+    public static long maxBytes() {
+        return Long.getLong("mastermind.scoreTable.maxBytes", DEFAULT_MAX_BYTES);
+    }
+
+    // Shared table of a space, built lazily in parallel; null if it exceeds the memory cap
+    public static ScoreTable forSpace(CodeSpace space) {
+        ScoreTable table = TABLES.get(space);
+        if (table == null && fits(space, maxBytes())) {
+            table = TABLES.computeIfAbsent(space, key -> build(key, true));
+        }
+        return table;
+    }
+
+    // Builds a new table, splitting rows across cores if parallel is set
+    public static ScoreTable build(CodeSpace space, boolean parallel) {
+        if (!fits(space, Integer.MAX_VALUE - 8)) {
+            throw new IllegalArgumentException("Score table too large for " + space);
+        }
+        int size = space.size();
+        int pegs = space.pegs();
+        int[] codes = space.codes();
+        byte[] scores = new byte[size * size];
+
+        IntStream rows = IntStream.range(0, size);
+        if (parallel) {
+            rows = rows.parallel();
+        }
+        rows.forEach(g -> {
+            int guess = codes[g];
+            long guessCounts = PackedScorer.colorCounts(guess, pegs);
+            int offset = g * size;
+            for (int s = 0; s < size; s++) {
+                scores[offset + s] = (byte) PackedScorer.score(guess, guessCounts, codes[s], pegs);
+            }
+        });
+        return new ScoreTable(space, scores);
+    }
+
+    public CodeSpace space() {
+        return SPACE;
+    }
+
+    // Packed score of the guess and secret with the given indices
+    public int score(int guessIndex, int secretIndex) {
+        return SCORES[guessIndex * SIZE + secretIndex] & 0xFF;
+    }
+}
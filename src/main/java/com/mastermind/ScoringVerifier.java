@@ -0,0 +1,320 @@
+package com.mastermind;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Checks every optimized scoring path, and the game's own checkGuess, against
+// the original ArrayList-based checkGuess, for every guess x secret pair of a
+// code space. Guesses are split
+// across the common fork/join pool; for each guess the reference scores all
+// the secrets once and every engine is compared with it. Mismatches are
+// counted and the first ones are kept with their codes, written one letter
+// per peg (A = color 0). Exits with status 1 if any engine disagrees.
+// Usage: ScoringVerifier [<colors>x<pegs> ...]   (default 6x4 8x5)
+public final class ScoringVerifier {
+
+    // Guesses checked by one fork/join leaf
+    private static final int LEAF_GUESSES = 16;
+    // Mismatches kept with their codes for the report
+    private static final int MAX_EXAMPLES = 20;
+
+    private ScoringVerifier() {
+    }
+
+    // A scoring path under test. Fills out[0..size) with the packed score of the
+    // guess index against each secret index of the space; must be thread-safe.
+    @FunctionalInterface
+    public interface Engine {
+        void scoreAll(int guess, int[] out);
+    }
+
+    // Outcome of verifying one space
+    public static final class Report {
+        private final CodeSpace SPACE;
+        private final List<String> ENGINES;
+        private final long MISMATCHES;
+        private final List<String> EXAMPLES;
+        private final long NANOS;
+
+        Report(CodeSpace space, List<String> engines, long mismatches, List<String> examples, long nanos) {
+            this.SPACE = space;
+            this.ENGINES = engines;
+            this.MISMATCHES = mismatches;
+            this.EXAMPLES = examples;
+            this.NANOS = nanos;
+        }
+
+        public long pairs() {
+            return (long) SPACE.size() * SPACE.size();
+        }
+
+        public long mismatches() {
+            return MISMATCHES;
+        }
+
+        // First mismatches found. Example: packed guess=AABC secret=ABBA expected=1/2 got=2/1
+        public List<String> examples() {
+            return EXAMPLES;
+        }
+
+        // Example: 6x4: 1679616 pairs x [packed, table] engines, 0 mismatches in 1.2 s
+        @Override
+        public String toString() {
+            return String.format("%s: %d pairs x %s engines, %d mismatches in %.1f s",
+                    SPACE, pairs(), ENGINES, MISMATCHES, NANOS / 1e9);
+        }
+    }
+
+    public static void main(String[] args) {
+        String[] variants = args.length == 0 ? new String[]{"6x4", "8x5"} : args;
+        boolean ok = true;
+        for (String variant : variants) {
+            String[] size = variant.split("x");
+            CodeSpace space = CodeSpace.of(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+            Report report = verify(space, engines(space));
+            System.out.println(report);
+            for (String example : report.examples()) {
+                System.out.println("  " + example);
+            }
+            ok &= report.mismatches() == 0;
+        }
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    // Every optimized path that can score this space, by name: the packed scorer
+    // with and without hoisted color counts, the score table when the space has
+    // one, BatchScorer on codes and on indices, the CodeBatch kernel, and
+    // MasterMindLogic.checkGuess on its packed or table path and on its generic one
+    public static Map<String, Engine> engines(CodeSpace space) {
+        int pegs = space.pegs();
+        int[] codes = space.codes();
+        int[] all = new int[space.size()];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i;
+        }
+        Map<String, Engine> engines = new LinkedHashMap<>();
+        engines.put("packed", (guess, out) -> {
+            int guessCode = codes[guess];
+            for (int s = 0; s < codes.length; s++) {
+                out[s] = PackedScorer.score(guessCode, codes[s], pegs);
+            }
+        });
+        engines.put("packed-counts", (guess, out) -> {
+            int guessCode = codes[guess];
+            long guessCounts = PackedScorer.colorCounts(guessCode, pegs);
+            for (int s = 0; s < codes.length; s++) {
+                out[s] = PackedScorer.score(guessCode, guessCounts, codes[s], pegs);
+            }
+        });
+        ScoreTable table = ScoreTable.forSpace(space);
+        if (table != null) {
+            engines.put("table", (guess, out) -> {
+                for (int s = 0; s < codes.length; s++) {
+                    out[s] = table.score(guess, s);
+                }
+            });
+        }
+        engines.put("batch", (guess, out) -> BatchScorer.scoreSecrets(codes[guess], codes, codes.length, out, pegs));
+        engines.put("batch-indices", (guess, out) -> BatchScorer.scoreIndices(space, guess, all, all.length, out));
+        CodeBatch batch = new CodeBatch(space.colors(), pegs, codes, codes.length);
+        ThreadLocal<int[]> common = ThreadLocal.withInitial(() -> new int[codes.length]);
+        engines.put("code-batch", (guess, out) -> batch.scoreAll(codes[guess], common.get(), out));
+        Color[][] colors = colorsOf(space);
+        engines.put("check-guess", checkGuess(space, colors, false));
+        engines.put("check-guess-generic", checkGuess(space, colors, true));
+        return engines;
+    }
+
+    // MasterMindLogic.checkGuess with one thread-local game per worker. Scores are
+    // symmetric, so the game's secret is the guess index and each secret index is
+    // checked as its guess: every ordered pair still goes through checkGuess once,
+    // with one new secret per call instead of one per pair.
+    private static Engine checkGuess(CodeSpace space, Color[][] colors, boolean generic) {
+        Variant variant = new Variant(space.colors(), space.pegs(), 10, true);
+        Color[] palette = palette(space.colors());
+        String[] labels = new String[palette.length];
+        for (int c = 0; c < labels.length; c++) {
+            labels[c] = String.valueOf((char) ('A' + c));
+        }
+        ThreadLocal<FixedSecretLogic> games = ThreadLocal.withInitial(
+                () -> new FixedSecretLogic(variant, palette, labels, generic));
+        return (guess, out) -> {
+            FixedSecretLogic game = games.get();
+            game.setSecret(colors[guess]);
+            for (int s = 0; s < colors.length; s++) {
+                MasterMindLogic.Result result = game.checkGuess(colors[s]);
+                out[s] = PackedScorer.result(result.blacks, result.whites);
+            }
+        };
+    }
+
+    // Compares every engine with the reference on every pair of the space
+    public static Report verify(CodeSpace space, Map<String, Engine> engines) {
+        long start = System.nanoTime();
+        Check check = new Check(space, engines, colorsOf(space));
+        ForkJoinPool.commonPool().invoke(check.new Range(0, space.size()));
+        return new Report(space, new ArrayList<>(engines.keySet()), check.mismatches.sum(),
+                new ArrayList<>(check.examples), System.nanoTime() - start);
+    }
+
+    // One distinct Color per color index, as the original game compared palette colors
+    static Color[] palette(int colors) {
+        Color[] palette = new Color[colors];
+        for (int c = 0; c < palette.length; c++) {
+            palette[c] = new Color(c * 0x10101 + 1);
+        }
+        return palette;
+    }
+
+    // Every code of the space as palette colors, by index
+    static Color[][] colorsOf(CodeSpace space) {
+        Color[] palette = palette(space.colors());
+        Color[][] colors = new Color[space.size()][space.pegs()];
+        for (int i = 0; i < colors.length; i++) {
+            for (int p = 0; p < space.pegs(); p++) {
+                colors[i][p] = palette[PackedScorer.peg(space.codeAt(i), p)];
+            }
+        }
+        return colors;
+    }
+
+    // The original MasterMindLogic.checkGuess, on Colors and ArrayLists, as a packed score
+    static int referenceScore(Color[] guess, Color[] secret) {
+        int blacks = 0;
+        int whites = 0;
+
+        // Storing colors for white pin calculation
+        ArrayList<Color> guessSlots = new ArrayList<>();
+        ArrayList<Color> secretSlots = new ArrayList<>();
+
+        // Count black pins
+        for (int i = 0; i < secret.length; i++) {
+            Color g = guess[i];
+            Color s = secret[i];
+            if (g == s) {
+                blacks++;
+            } else {
+                guessSlots.add(g);
+                secretSlots.add(s);
+            }
+        }
+
+        // Count white pins
+        for (Color guessSlot : guessSlots) {
+            if (secretSlots.contains(guessSlot)) {
+                whites++;
+                secretSlots.remove(guessSlot);
+            }
+        }
+
+        return PackedScorer.result(blacks, whites);
+    }
+
+    // Code as one letter per peg, A for color 0
+    static String letters(CodeSpace space, int index) {
+        StringBuilder text = new StringBuilder();
+        for (int p = 0; p < space.pegs(); p++) {
+            text.append((char) ('A' + PackedScorer.peg(space.codeAt(index), p)));
+        }
+        return text.toString();
+    }
+
+    // Game whose secret is set by the verifier instead of drawn at random. The
+    // generic one skips the packed and table paths, as for codes that do not pack.
+    private static final class FixedSecretLogic extends MasterMindLogic {
+        private final boolean generic;
+        private Color[] secret;
+
+        FixedSecretLogic(Variant variant, Color[] palette, String[] labels, boolean generic) {
+            super(variant, palette, labels);
+            this.generic = generic;
+        }
+
+        void setSecret(Color[] secret) {
+            this.secret = secret;
+            init(secret.length);
+        }
+
+        @Override
+        public Color[] generateSecret(int secretLength) {
+            return secret == null ? super.generateSecret(secretLength) : secret;
+        }
+
+        @Override
+        public boolean isPacked() {
+            return !generic && super.isPacked();
+        }
+    }
+
+    // State shared by every range of one verification
+    private static final class Check {
+        private final CodeSpace space;
+        private final Map<String, Engine> engines;
+        private final Color[][] colors;
+        private final LongAdder mismatches = new LongAdder();
+        private final Queue<String> examples = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger kept = new AtomicInteger();
+
+        Check(CodeSpace space, Map<String, Engine> engines, Color[][] colors) {
+            this.space = space;
+            this.engines = engines;
+            this.colors = colors;
+        }
+
+        private void report(String engine, int guess, int secret, int expected, int got) {
+            mismatches.increment();
+            if (kept.getAndIncrement() < MAX_EXAMPLES) {
+                examples.add(String.format("%s guess=%s secret=%s expected=%d/%d got=%d/%d", engine,
+                        letters(space, guess), letters(space, secret), PackedScorer.blacksOf(expected),
+                        PackedScorer.whitesOf(expected), PackedScorer.blacksOf(got), PackedScorer.whitesOf(got)));
+            }
+        }
+
+        // Guess indices [from, to)
+        private final class Range extends RecursiveAction {
+            private final int from;
+            private final int to;
+
+            Range(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > LEAF_GUESSES) {
+                    int mid = (from + to) >>> 1;
+                    invokeAll(new Range(from, mid), new Range(mid, to));
+                    return;
+                }
+                int size = space.size();
+                int[] expected = new int[size];
+                int[] out = new int[size];
+                for (int guess = from; guess < to; guess++) {
+                    for (int secret = 0; secret < size; secret++) {
+                        expected[secret] = referenceScore(colors[guess], colors[secret]);
+                    }
+                    for (Map.Entry<String, Engine> engine : engines.entrySet()) {
+                        engine.getValue().scoreAll(guess, out);
+                        for (int secret = 0; secret < size; secret++) {
+                            if (out[secret] != expected[secret]) {
+                                report(engine.getKey(), guess, secret, expected[secret], out[secret]);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.mastermind;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Draws secret code indices without allocating a Random per call.
+// random() uses ThreadLocalRandom. seeded() derives the n-th secret from
+// (seed, n) with the SplitMix64 mix used by SplittableRandom, so a seeded
+// run is reproducible and any thread can draw without shared state.
+public final class SecretGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final boolean SEEDED;
+    private final long SEED;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private SecretGenerator(boolean seeded, long seed) {
+        this.SEEDED = seeded;
+        this.SEED = seed;
+    }
+
+    public static SecretGenerator random() {
+        return new SecretGenerator(false, 0);
+    }
+
+    public static SecretGenerator seeded(long seed) {
+        return new SecretGenerator(true, seed);
+    }
+
+    // Index of the next secret; seeded generators count draws in order
+    public int nextSecret(CodeSpace space) {
+        if (!SEEDED) {
+            return ThreadLocalRandom.current().nextInt(space.size());
+        }
+        return secretFor(space, sequence.getAndIncrement());
+    }
+
+    // Index of the n-th secret of a seeded generator, independent of draw order
+    public int secretFor(CodeSpace space, long n) {
+        if (!SEEDED) {
+            return nextSecret(space);
+        }
+        long mixed = mix64(SEED + (n + 1) * GOLDEN_GAMMA);
+        // Top 31 bits scaled to the space size
+        return (int) (((mixed >>> 33) * space.size()) >>> 31);
+    }
+
+    // Seed for the random draws of the n-th game besides its secret, e.g. a random strategy's
+    public long seedFor(long n) {
+        if (!SEEDED) {
+            return ThreadLocalRandom.current().nextLong();
+        }
+        return mix64(~SEED + (n + 1) * GOLDEN_GAMMA);
+    }
+
+    public boolean isSeeded() {
+        return SEEDED;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
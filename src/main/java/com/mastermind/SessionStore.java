@@ -0,0 +1,302 @@
+package com.mastermind;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+// Crash-safe journal of live game sessions, so a restarted server picks up
+// every open game. Only deltas are appended: a session start, each guess, a
+// session end. Records collect in a buffer and are written and fsynced in
+// batches, once SYNC_EVERY records are waiting or when sync() is called. A
+// record method that throws has recorded nothing, and a failed sync keeps its
+// records for the next one. Once most of the file describes sessions that
+// already ended, it is compacted: the live sessions are written to a new file
+// that atomically replaces the old one.
+// Opening the store maps the file and replays it; a torn record left by a
+// crash ends the replay and is cut off.
+// File header (8 bytes): "MMSS", version, colors, pegs, 0.
+// Records: type (1 byte), session id (8 bytes), then for START the secret and
+// for GUESS the guess, as codes of (pegs + 1) / 2 bytes like GameLogWriter.
+public final class SessionStore implements Closeable {
+
+    static final int MAGIC = 0x4D4D5353;
+    static final byte VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final byte START = 1;
+    static final byte GUESS = 2;
+    static final byte END = 3;
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final int SYNC_EVERY = 256;
+    // Compact once the file is this large and mostly ended sessions
+    private static final long MIN_COMPACT_BYTES = 1 << 20;
+    private static final int GARBAGE_RATIO = 4;
+
+    private final Path FILE;
+    private final CodeSpace SPACE;
+    private final int CODE_BYTES;
+    private final int START_BYTES;
+    private final int GUESS_BYTES;
+    private final int END_BYTES;
+    private final int SYNC_RECORDS;
+    private final ByteBuffer BUFFER = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    // Sessions started and not ended, by id
+    private final Map<Long, GameSession> live = new HashMap<>();
+
+    private FileChannel channel;
+    // Bytes the live sessions would take in a compacted file
+    private long liveBytes;
+    private long maxId;
+    private int unsynced;
+
+    // Opens or creates a store; an existing store must be for the same code space
+    public SessionStore(Path file, CodeSpace space) throws IOException {
+        this(file, space, SYNC_EVERY);
+    }
+
+    public SessionStore(Path file, CodeSpace space, int syncEvery) throws IOException {
+        this.FILE = file;
+        this.SPACE = space;
+        this.CODE_BYTES = GameLogWriter.codeBytes(space.pegs());
+        this.START_BYTES = 9 + CODE_BYTES;
+        this.GUESS_BYTES = 9 + CODE_BYTES;
+        this.END_BYTES = 9;
+        this.SYNC_RECORDS = syncEvery;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            writeHeader(channel);
+            channel.force(false);
+        } else {
+            replay();
+        }
+        channel.position(channel.size());
+    }
+
+    // Rebuilds the live sessions from the mapped file and truncates a torn tail
+    private void replay() throws IOException {
+        long size = channel.size();
+        if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+            channel.close();
+            throw new IOException("Bad session store size " + size + ": " + FILE);
+        }
+        MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        map.order(ByteOrder.LITTLE_ENDIAN);
+        if (map.getInt(0) != MAGIC || map.get(4) != VERSION || map.get(5) != SPACE.colors()
+                || map.get(6) != SPACE.pegs()) {
+            channel.close();
+            throw new IOException("Not a session store for " + SPACE + ": " + FILE);
+        }
+        int offset = HEADER_BYTES;
+        int limit = map.limit();
+        while (offset < limit) {
+            byte type = map.get(offset);
+            int bytes = type == START ? START_BYTES : type == GUESS ? GUESS_BYTES : type == END ? END_BYTES : -1;
+            if (bytes < 0 || offset + bytes > limit) {
+                break;
+            }
+            long id = map.getLong(offset + 1);
+            maxId = Math.max(maxId, id);
+            if (type == START) {
+                live.put(id, new GameSession(SPACE, code(map, offset + 9)));
+            } else if (type == GUESS) {
+                GameSession session = live.get(id);
+                if (session != null) {
+                    session.replay(code(map, offset + 9));
+                }
+            } else {
+                live.remove(id);
+            }
+            offset += bytes;
+        }
+        if (offset < limit) {
+            channel.truncate(offset);
+            channel.force(false);
+        }
+        for (GameSession session : live.values()) {
+            liveBytes += sizeOf(session);
+        }
+    }
+
+    // Sessions that were open when the store was last written, plus those started since
+    public synchronized Map<Long, GameSession> sessions() {
+        return Collections.unmodifiableMap(new HashMap<>(live));
+    }
+
+    // Highest session id ever written; new ids should be larger
+    public synchronized long maxId() {
+        return maxId;
+    }
+
+    public synchronized void started(long id, GameSession session) throws IOException {
+        prepare(START_BYTES);
+        BUFFER.put(START).putLong(id);
+        putCode(session.secret());
+        live.put(id, session);
+        liveBytes += sizeOf(session);
+        maxId = Math.max(maxId, id);
+        unsynced++;
+    }
+
+    // Records a guess; call before GameSession.guess, so a failure leaves the session as it was
+    public synchronized void guessed(long id, int guessCode) throws IOException {
+        prepare(GUESS_BYTES);
+        BUFFER.put(GUESS).putLong(id);
+        putCode(guessCode);
+        liveBytes += GUESS_BYTES;
+        unsynced++;
+    }
+
+    public synchronized void ended(long id) throws IOException {
+        GameSession session = live.get(id);
+        if (session == null) {
+            return;
+        }
+        long remaining = liveBytes - sizeOf(session);
+        if (fileBytes() > MIN_COMPACT_BYTES && fileBytes() > GARBAGE_RATIO * (HEADER_BYTES + remaining)) {
+            compact();
+        }
+        prepare(END_BYTES);
+        BUFFER.put(END).putLong(id);
+        live.remove(id);
+        liveBytes = remaining;
+        unsynced++;
+    }
+
+    // Writes the buffered records and forces them to disk, if there are any
+    public synchronized void sync() throws IOException {
+        if (unsynced == 0) {
+            return;
+        }
+        flush();
+        channel.force(false);
+        unsynced = 0;
+    }
+
+    // Rewrites the file with just the live sessions. If it fails, the current
+    // file stays in place with every record.
+    public synchronized void compact() throws IOException {
+        // The current file must be complete in case the new one never replaces it
+        flush();
+        Path temp = FILE.resolveSibling(FILE.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(out);
+            for (Map.Entry<Long, GameSession> entry : live.entrySet()) {
+                GameSession session = entry.getValue();
+                if (BUFFER.remaining() < sizeOf(session)) {
+                    drain(out);
+                }
+                BUFFER.put(START).putLong(entry.getKey());
+                putCode(session.secret());
+                for (int turn = 0; turn < session.guesses(); turn++) {
+                    if (BUFFER.remaining() < GUESS_BYTES) {
+                        drain(out);
+                    }
+                    BUFFER.put(GUESS).putLong(entry.getKey());
+                    putCode(session.guessAt(turn));
+                }
+            }
+            drain(out);
+            out.force(false);
+        } catch (IOException e) {
+            BUFFER.clear();
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        channel.close();
+        try {
+            Files.move(temp, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // The rename itself is only durable once the directory is synced
+            syncDirectory(FILE.toAbsolutePath().getParent());
+        } finally {
+            channel = FileChannel.open(FILE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+        unsynced = 0;
+    }
+
+    // Bytes on disk plus bytes still buffered
+    public synchronized long fileBytes() throws IOException {
+        return channel.size() + BUFFER.position();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        sync();
+        channel.close();
+    }
+
+    public CodeSpace space() {
+        return SPACE;
+    }
+
+    private long sizeOf(GameSession session) {
+        return START_BYTES + (long) session.guesses() * GUESS_BYTES;
+    }
+
+    // Syncs a full batch and makes room for one record, before anything is recorded
+    private void prepare(int bytes) throws IOException {
+        if (unsynced >= SYNC_RECORDS) {
+            sync();
+        }
+        if (BUFFER.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+    }
+
+    private void flush() throws IOException {
+        drain(channel);
+    }
+
+    // Writes the buffer out; bytes not written when it fails stay buffered
+    private void drain(FileChannel out) throws IOException {
+        BUFFER.flip();
+        try {
+            while (BUFFER.hasRemaining()) {
+                out.write(BUFFER);
+            }
+        } finally {
+            BUFFER.compact();
+        }
+    }
+
+    private void writeHeader(FileChannel out) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).put(VERSION).put((byte) SPACE.colors()).put((byte) SPACE.pegs()).put((byte) 0);
+        header.flip();
+        while (header.hasRemaining()) {
+            out.write(header);
+        }
+    }
+
+    private void putCode(int code) {
+        for (int i = 0; i < CODE_BYTES; i++) {
+            BUFFER.put((byte) (code >>> (i << 3)));
+        }
+    }
+
+    private int code(ByteBuffer map, int offset) {
+        int code = 0;
+        for (int i = 0; i < CODE_BYTES; i++) {
+            code |= (map.get(offset + i) & 0xFF) << (i << 3);
+        }
+        return code;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mastermind;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Aggregate results of many games, safe to update from every worker thread
+public final class SimulationStats {
+
+    private final int ROUNDS;
+    private final long START = System.nanoTime();
+    private final LongAdder games = new LongAdder();
+    private final LongAdder wins = new LongAdder();
+    private final LongAdder winningGuesses = new LongAdder();
+    // Games won with i guesses, for i in 1..rounds
+    private final AtomicLongArray histogram;
+
+    public SimulationStats(int rounds) {
+        this.ROUNDS = rounds;
+        this.histogram = new AtomicLongArray(rounds + 1);
+    }
+
+    // Records a game: guesses used, or -1 if it was lost
+    public void record(int guesses) {
+        games.increment();
+        if (guesses > 0) {
+            wins.increment();
+            winningGuesses.add(guesses);
+            histogram.incrementAndGet(guesses);
+        }
+    }
+
+    public long games() {
+        return games.sum();
+    }
+
+    public long wins() {
+        return wins.sum();
+    }
+
+    // Games won with exactly this number of guesses
+    public long wonWith(int guesses) {
+        return histogram.get(guesses);
+    }
+
+    public double winRate() {
+        long played = games();
+        return played == 0 ? 0 : wins() / (double) played;
+    }
+
+    public double averageGuesses() {
+        long won = wins();
+        return won == 0 ? 0 : winningGuesses.sum() / (double) won;
+    }
+
+    public double gamesPerSecond() {
+        double seconds = (System.nanoTime() - START) / 1e9;
+        return seconds == 0 ? 0 : games() / seconds;
+    }
+
+    // One line summary. Example: games=1296 win=100.00% avg=4.48 rate=2500 games/s guesses=[1:1 2:7 ...]
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append(String.format("games=%d win=%.2f%% avg=%.3f rate=%.0f games/s guesses=[",
+                games(), winRate() * 100, averageGuesses(), gamesPerSecond()));
+        for (int i = 1; i <= ROUNDS; i++) {
+            if (i > 1) {
+                result.append(' ');
+            }
+            result.append(i).append(':').append(histogram.get(i));
+        }
+        return result.append(']').toString();
+    }
+}
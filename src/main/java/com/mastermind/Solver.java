@@ -0,0 +1,232 @@
+package com.mastermind;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+// Plays MasterMind automatically: keeps the codes consistent with every
+// black/white result so far and asks a strategy for each next guess.
+// Minimax solvers take their first two guesses from the opening book when
+// the space has one. Strategies that search the whole space only try one
+// guess per symmetry class (GuessSymmetry). Solvers of deterministic
+// strategies can share a TranspositionCache, so a state one of them has
+// decided is a lookup for the others of the same strategy. Spaces too large
+// for a candidate list are streamed: the strategy picks from a uniform sample
+// of the consistent codes until they are few enough to list. Strategies that
+// search the space only try those codes as guesses there, since trying every
+// code would cost space x sample scores.
+public final class Solver {
+
+    // Consistent codes handed to the strategy while the space is streamed
+    private static final int SAMPLE_SIZE = 4096;
+
+    private final CodeSpace SPACE;
+    private final GuessStrategy STRATEGY;
+    private final ScoreTable TABLE;
+    private final OpeningBook BOOK;
+    private final boolean STREAMED;
+    private final int SAMPLE;
+    private final TranspositionCache CACHE;
+
+    // Candidate code indices, sorted; only the first count are valid.
+    // Null while the candidates are streamed.
+    private int[] candidates;
+    private int count;
+    private int guesses;
+    private GuessSymmetry symmetry;
+    // Hash of the guesses and scores so far, the cache key
+    private long state;
+    // Guess history and the latest sample of it when streaming
+    private CandidateStream stream;
+    private int[] sample;
+
+    // Packed guesses and scores of the current game, in order
+    private int[] guessHistory = new int[16];
+    private int[] scoreHistory = new int[16];
+
+    public Solver(CodeSpace space, GuessStrategy strategy) {
+        this(space, strategy, null);
+    }
+
+    // Shares decisions through the cache; ignored for streamed spaces and
+    // strategies that are not deterministic
+    public Solver(CodeSpace space, GuessStrategy strategy, TranspositionCache cache) {
+        this(space, strategy, CandidateStream.isNeeded(space), SAMPLE_SIZE, cache);
+    }
+
+    Solver(CodeSpace space, GuessStrategy strategy, boolean streamed) {
+        this(space, strategy, streamed, SAMPLE_SIZE, null);
+    }
+
+    // Streamed solver handing the strategy a sample of the given size, for quick tests
+    Solver(CodeSpace space, GuessStrategy strategy, int sampleSize) {
+        this(space, strategy, true, sampleSize, null);
+    }
+
+    private Solver(CodeSpace space, GuessStrategy strategy, boolean streamed, int sampleSize,
+                   TranspositionCache cache) {
+        this.SPACE = space;
+        this.STRATEGY = strategy;
+        this.TABLE = ScoreTable.forSpace(space);
+        this.BOOK = strategy instanceof MinimaxStrategy ? OpeningBook.forSpace(space) : null;
+        this.STREAMED = streamed;
+        this.SAMPLE = sampleSize;
+        this.CACHE = streamed || !strategy.isDeterministic() ? null : cache;
+        this.candidates = STREAMED ? null : new int[space.size()];
+        reset();
+    }
+
+    // Starts a new game with every code as a candidate
+    public void reset() {
+        if (STREAMED) {
+            stream = new CandidateStream(SPACE, null);
+            candidates = null;
+            sample = null;
+        } else {
+            for (int i = 0; i < candidates.length; i++) {
+                candidates[i] = i;
+            }
+        }
+        count = SPACE.size();
+        guesses = 0;
+        symmetry = GuessSymmetry.of(SPACE);
+        state = TranspositionCache.start(SPACE, STRATEGY.name());
+    }
+
+    // Index of the code to guess next
+    public int nextGuess() {
+        if (!EngineMetrics.ENABLED) {
+            return chooseGuess();
+        }
+        long start = System.nanoTime();
+        int guess = chooseGuess();
+        EngineMetrics.global().solverTook(System.nanoTime() - start);
+        return guess;
+    }
+
+    private int chooseGuess() {
+        if (count == 0) {
+            throw new IllegalStateException("No code is consistent with the feedback");
+        }
+        if (BOOK != null && guesses < 2) {
+            int guess = guesses == 0 ? BOOK.first()
+                    : BOOK.lookup(1, SPACE.indexOf(guessHistory[0]), scoreHistory[0]);
+            if (guess >= 0) {
+                return guess;
+            }
+        }
+        if (candidates == null) {
+            if (sample == null) {
+                rescan();
+            }
+            return search(sample, sample.length);
+        }
+        if (CACHE != null && count > 2) {
+            int guess = CACHE.get(state);
+            if (guess < 0) {
+                guess = search(candidates, count);
+                CACHE.put(state, guess);
+            }
+            return guess;
+        }
+        return search(candidates, count);
+    }
+
+    private int search(int[] candidates, int count) {
+        if (!STRATEGY.searchesSpace() || count <= 2) {
+            return STRATEGY.chooseGuess(SPACE, candidates, count);
+        }
+        // A streamed space is too large to search: its candidates are the guess pool
+        int[] guesses = STREAMED ? Arrays.copyOf(candidates, count) : symmetry.representatives(count);
+        return STRATEGY.chooseGuess(SPACE, candidates, count, guesses);
+    }
+
+    // Counts the streamed candidates; once the sample holds them all it becomes the candidate list
+    private void rescan() {
+        CandidateStream.Scan scan = stream.scan(SAMPLE);
+        count = scan.count();
+        sample = scan.sample();
+        if (scan.isComplete()) {
+            candidates = sample;
+        }
+    }
+
+    // Keeps only the candidates that would have produced this packed score
+    public void feedback(int guess, int score) {
+        if (guesses == guessHistory.length) {
+            guessHistory = Arrays.copyOf(guessHistory, guesses * 2);
+            scoreHistory = Arrays.copyOf(scoreHistory, guesses * 2);
+        }
+        guessHistory[guesses] = SPACE.codeAt(guess);
+        scoreHistory[guesses] = score;
+        guesses++;
+        symmetry = symmetry.after(SPACE.codeAt(guess));
+        state = TranspositionCache.extend(state, guess, score);
+        if (candidates == null) {
+            stream.narrow(guessHistory[guesses - 1], score);
+            rescan();
+            return;
+        }
+        int kept = 0;
+        if (TABLE != null) {
+            for (int i = 0; i < count; i++) {
+                if (TABLE.score(guess, candidates[i]) == score) {
+                    candidates[kept++] = candidates[i];
+                }
+            }
+        } else {
+            int pegs = SPACE.pegs();
+            int guessCode = SPACE.codeAt(guess);
+            long guessCounts = PackedScorer.colorCounts(guessCode, pegs);
+            for (int i = 0; i < count; i++) {
+                if (PackedScorer.score(guessCode, guessCounts, SPACE.codeAt(candidates[i]), pegs) == score) {
+                    candidates[kept++] = candidates[i];
+                }
+            }
+        }
+        count = kept;
+    }
+
+    // Plays a full game against a secret index. Returns the number of guesses
+    // needed, or -1 if it was not found within maxGuesses.
+    public int solve(int secret, int maxGuesses) {
+        reset();
+        int win = PackedScorer.result(SPACE.pegs(), 0);
+        int secretCode = SPACE.codeAt(secret);
+        while (guesses < maxGuesses) {
+            int guess = nextGuess();
+            int score = TABLE != null
+                    ? TABLE.score(guess, secret)
+                    : PackedScorer.score(SPACE.codeAt(guess), secretCode, SPACE.pegs());
+            feedback(guess, score);
+            if (score == win) {
+                return finished(guesses);
+            }
+        }
+        return finished(-1);
+    }
+
+    private int finished(int result) {
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.global().guessesScored(guesses);
+            EngineMetrics.global().gameFinished(result);
+        }
+        return result;
+    }
+
+    public int remaining() {
+        return count;
+    }
+
+    public int guesses() {
+        return guesses;
+    }
+
+    // Appends the current game to a log
+    public void writeTo(GameLogWriter log, int secret) throws IOException {
+        log.writeGame(SPACE.codeAt(secret), guessHistory, scoreHistory, guesses);
+    }
+
+    public CodeSpace space() {
+        return SPACE;
+    }
+}
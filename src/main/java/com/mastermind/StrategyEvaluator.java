@@ -0,0 +1,240 @@
+package com.mastermind;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+// Plays a strategy against every secret of a code space and reports the full
+// distribution of guesses needed. Instead of replaying each secret from the
+// start, it walks the strategy's game tree: a node is the set of secrets still
+// consistent after a sequence of guesses and scores, so every shared prefix is
+// decided once for all the secrets below it. Subtrees run in parallel on a
+// fork/join pool; minimax takes its first two levels from the opening book.
+// Each node also carries the symmetry of its guesses, so strategies that
+// search the whole space try one guess per class.
+// Usage: StrategyEvaluator <colors> <secretLength> <maxGuesses> <strategy,...> [csvFile]
+public final class StrategyEvaluator {
+
+    // Partitions with fewer secrets are solved on the current thread
+    private static final int FORK_THRESHOLD = 32;
+
+    private StrategyEvaluator() {
+    }
+
+    // Outcome of one strategy over every secret of a space
+    public static final class Report {
+        private final String STRATEGY;
+        private final CodeSpace SPACE;
+        private final int MAX_GUESSES;
+        private final SimulationStats STATS;
+        private final long NODES;
+        private final long NANOS;
+
+        Report(String strategy, CodeSpace space, int maxGuesses, SimulationStats stats, long nodes, long nanos) {
+            this.STRATEGY = strategy;
+            this.SPACE = space;
+            this.MAX_GUESSES = maxGuesses;
+            this.STATS = stats;
+            this.NODES = nodes;
+            this.NANOS = nanos;
+        }
+
+        public String strategy() {
+            return STRATEGY;
+        }
+
+        public SimulationStats stats() {
+            return STATS;
+        }
+
+        // Most guesses any solved secret needed, or -1 if some secret was not solved
+        public int worstCase() {
+            if (STATS.wins() < STATS.games()) {
+                return -1;
+            }
+            for (int i = MAX_GUESSES; i > 0; i--) {
+                if (STATS.wonWith(i) > 0) {
+                    return i;
+                }
+            }
+            return 0;
+        }
+
+        // Decisions taken, one per node of the game tree
+        public long nodes() {
+            return NODES;
+        }
+
+        // strategy,colors,pegs,secrets,solved,worst,average,g1..gN
+        public String csvRow() {
+            StringBuilder row = new StringBuilder();
+            row.append(STRATEGY).append(',').append(SPACE.colors()).append(',').append(SPACE.pegs()).append(',')
+                    .append(STATS.games()).append(',').append(STATS.wins()).append(',').append(worstCase())
+                    .append(',').append(String.format("%.4f", STATS.averageGuesses()));
+            for (int i = 1; i <= MAX_GUESSES; i++) {
+                row.append(',').append(STATS.wonWith(i));
+            }
+            return row.toString();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s: worst=%d avg=%.4f solved=%d/%d nodes=%d in %d ms", STRATEGY, SPACE,
+                    worstCase(), STATS.averageGuesses(), STATS.wins(), STATS.games(), NODES, NANOS / 1_000_000);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4 || args.length > 5) {
+            System.err.println("Usage: StrategyEvaluator <colors> <secretLength> <maxGuesses>"
+                    + " <minimax|entropy|expected|random,...> [csvFile]");
+            System.exit(1);
+        }
+        CodeSpace space = CodeSpace.of(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+        int maxGuesses = Integer.parseInt(args[2]);
+        List<Report> reports = new ArrayList<>();
+        for (String name : args[3].split(",")) {
+            Report report = evaluate(space, GuessStrategy.named(name), maxGuesses);
+            System.out.println(report);
+            reports.add(report);
+        }
+        if (args.length == 5) {
+            try (Writer out = Files.newBufferedWriter(Paths.get(args[4]))) {
+                writeCsv(reports, out);
+            }
+        } else {
+            writeCsv(reports, System.out);
+        }
+    }
+
+    // Solves every secret of the space, counting secrets not found within maxGuesses as lost
+    public static Report evaluate(CodeSpace space, GuessStrategy strategy, int maxGuesses) {
+        long start = System.nanoTime();
+        SimulationStats stats = new SimulationStats(maxGuesses);
+        LongAdder nodes = new LongAdder();
+        OpeningBook book = strategy instanceof MinimaxStrategy ? OpeningBook.forSpace(space) : null;
+        int[] all = new int[space.size()];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i;
+        }
+        Tree tree = new Tree(space, strategy, book, maxGuesses, stats, nodes);
+        ForkJoinPool.commonPool().invoke(tree.new Node(all, all.length, 1, -1, 0, GuessSymmetry.of(space)));
+        return new Report(strategy.name(), space, maxGuesses, stats, nodes.sum(), System.nanoTime() - start);
+    }
+
+    public static void writeCsv(List<Report> reports, Appendable out) throws IOException {
+        int maxGuesses = reports.isEmpty() ? 0 : reports.get(0).MAX_GUESSES;
+        out.append("strategy,colors,pegs,secrets,solved,worst,average");
+        for (int i = 1; i <= maxGuesses; i++) {
+            out.append(",g").append(String.valueOf(i));
+        }
+        out.append('\n');
+        for (Report report : reports) {
+            out.append(report.csvRow()).append('\n');
+        }
+    }
+
+    // State shared by every node of one evaluation
+    private static final class Tree {
+        private final CodeSpace space;
+        private final GuessStrategy strategy;
+        private final OpeningBook book;
+        private final int maxGuesses;
+        private final SimulationStats stats;
+        private final LongAdder nodes;
+        private final int win;
+
+        Tree(CodeSpace space, GuessStrategy strategy, OpeningBook book, int maxGuesses, SimulationStats stats,
+             LongAdder nodes) {
+            this.space = space;
+            this.strategy = strategy;
+            this.book = book;
+            this.maxGuesses = maxGuesses;
+            this.stats = stats;
+            this.nodes = nodes;
+            this.win = PackedScorer.result(space.pegs(), 0);
+        }
+
+        // Secrets still possible before guess number depth. firstGuess and
+        // firstScore describe the first move, for the opening book; symmetry
+        // holds the guesses on the way here.
+        private final class Node extends RecursiveAction {
+            private final int[] candidates;
+            private final int count;
+            private final int depth;
+            private final int firstGuess;
+            private final int firstScore;
+            private final GuessSymmetry symmetry;
+
+            Node(int[] candidates, int count, int depth, int firstGuess, int firstScore, GuessSymmetry symmetry) {
+                this.candidates = candidates;
+                this.count = count;
+                this.depth = depth;
+                this.firstGuess = firstGuess;
+                this.firstScore = firstScore;
+                this.symmetry = symmetry;
+            }
+
+            @Override
+            protected void compute() {
+                if (depth > maxGuesses) {
+                    for (int i = 0; i < count; i++) {
+                        stats.record(-1);
+                    }
+                    return;
+                }
+                nodes.increment();
+                int guess = book == null ? -1 : book.lookup(depth - 1, firstGuess, firstScore);
+                if (guess < 0 && strategy.searchesSpace() && count > 2) {
+                    guess = strategy.chooseGuess(space, candidates, count, symmetry.representatives(count));
+                } else if (guess < 0) {
+                    guess = strategy.chooseGuess(space, candidates, count);
+                }
+
+                // Split the secrets by the score they give this guess, keeping each part sorted
+                int[] scores = new int[count];
+                int[] sizes = new int[MinimaxStrategy.histogramSize(space)];
+                BatchScorer.scoreIndices(space, guess, candidates, count, scores);
+                for (int i = 0; i < count; i++) {
+                    sizes[scores[i]]++;
+                }
+                if (sizes[win] > 0) {
+                    stats.record(depth);
+                }
+                int[][] parts = new int[sizes.length][];
+                int[] filled = new int[sizes.length];
+                for (int i = 0; i < count; i++) {
+                    int score = scores[i];
+                    if (score != win) {
+                        if (parts[score] == null) {
+                            parts[score] = new int[sizes[score]];
+                        }
+                        parts[score][filled[score]++] = candidates[i];
+                    }
+                }
+
+                GuessSymmetry next = symmetry.after(space.codeAt(guess));
+                List<Node> forked = new ArrayList<>();
+                for (int score = 0; score < parts.length; score++) {
+                    if (parts[score] == null) {
+                        continue;
+                    }
+                    Node child = new Node(parts[score], parts[score].length, depth + 1,
+                            depth == 1 ? guess : firstGuess, depth == 1 ? score : firstScore, next);
+                    if (parts[score].length >= FORK_THRESHOLD) {
+                        forked.add(child);
+                    } else {
+                        child.compute();
+                    }
+                }
+                invokeAll(forked);
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.mastermind;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Best next guess of game states already decided, shared by the solvers of a
+// batch run. A state is the 64-bit hash of the strategy and its guess/score
+// history (start, then extend once per guess), so strategies sharing a cache
+// never read each other's guesses. Lock-free and bounded: entries live in buckets
+// of 8 slots (one cache line) and each slot is a single long updated by CAS,
+// holding 38 bits of the hash, a referenced bit and the guess index. A full
+// bucket evicts with CLOCK: the hand skips and clears referenced slots and
+// takes the first one not used since its last pass.
+// Only for deterministic strategies: a hit replays the guess they would pick.
+public final class TranspositionCache {
+
+    private static final int SLOTS = 8;
+    private static final long GUESS_MASK = (1L << 24) - 1;
+    private static final long REFERENCED = 1L << 24;
+    // Tags keep their top bit set so a used slot is never 0
+    private static final long TAG_MASK = ~((1L << 25) - 1);
+    private static final long TAG_BIT = 1L << 63;
+
+    private final AtomicLongArray ENTRIES;
+    private final int BUCKET_MASK;
+    // Clock hand of each bucket; racing updates only skew where the next sweep starts
+    private final byte[] HANDS;
+    private final LongAdder HITS = new LongAdder();
+    private final LongAdder MISSES = new LongAdder();
+    private final LongAdder EVICTIONS = new LongAdder();
+
+    // Room for at least capacity entries, rounded up to a power of two buckets
+    public TranspositionCache(int capacity) {
+        int needed = Math.max(1, (capacity + SLOTS - 1) / SLOTS);
+        int buckets = needed == 1 ? 1 : Integer.highestOneBit(needed - 1) << 1;
+        this.ENTRIES = new AtomicLongArray(buckets * SLOTS);
+        this.BUCKET_MASK = buckets - 1;
+        this.HANDS = new byte[buckets];
+    }
+
+    // Hash of the empty history of a space for the named strategy
+    public static long start(CodeSpace space, String strategy) {
+        return mix((long) strategy.hashCode() << 32 | space.colors() << 8 | space.pegs());
+    }
+
+    // Hash of a history after one more guess index and its packed score
+    public static long extend(long hash, int guess, int score) {
+        return mix(hash * 0x9E3779B97F4A7C15L + ((long) guess << 8 | score) + 1);
+    }
+
+    // Guess stored for the state, or -1
+    public int get(long state) {
+        long tag = tagOf(state);
+        int base = bucketOf(state);
+        for (int i = base; i < base + SLOTS; i++) {
+            long entry = ENTRIES.get(i);
+            if ((entry & TAG_MASK) == tag) {
+                if ((entry & REFERENCED) == 0) {
+                    ENTRIES.compareAndSet(i, entry, entry | REFERENCED);
+                }
+                HITS.increment();
+                return (int) (entry & GUESS_MASK);
+            }
+        }
+        MISSES.increment();
+        return -1;
+    }
+
+    // Stores the guess for the state, evicting from its bucket when full
+    public void put(long state, int guess) {
+        if (guess < 0 || guess > GUESS_MASK) {
+            throw new IllegalArgumentException("Guess index out of range: " + guess);
+        }
+        long entry = tagOf(state) | guess;
+        int base = bucketOf(state);
+        for (int i = base; i < base + SLOTS; i++) {
+            long current = ENTRIES.get(i);
+            if ((current & TAG_MASK) == (entry & TAG_MASK)) {
+                return;
+            }
+            if (current == 0 && ENTRIES.compareAndSet(i, 0, entry)) {
+                return;
+            }
+        }
+        // Two turns at most: the first clears every referenced bit it passes
+        int bucket = base / SLOTS;
+        int hand = HANDS[bucket];
+        for (int step = 0; step < 2 * SLOTS; step++, hand = (hand + 1) & (SLOTS - 1)) {
+            int i = base + hand;
+            long current = ENTRIES.get(i);
+            if ((current & REFERENCED) != 0) {
+                ENTRIES.compareAndSet(i, current, current & ~REFERENCED);
+            } else if (ENTRIES.compareAndSet(i, current, entry)) {
+                HANDS[bucket] = (byte) ((hand + 1) & (SLOTS - 1));
+                EVICTIONS.increment();
+                return;
+            }
+        }
+    }
+
+    public long hits() {
+        return HITS.sum();
+    }
+
+    public long misses() {
+        return MISSES.sum();
+    }
+
+    public long evictions() {
+        return EVICTIONS.sum();
+    }
+
+    public int capacity() {
+        return ENTRIES.length();
+    }
+
+    // Example: hits=9950 misses=50 (99.50%) evictions=0 capacity=65536
+    @Override
+    public String toString() {
+        long hits = hits();
+        long total = hits + misses();
+        return String.format("hits=%d misses=%d (%.2f%%) evictions=%d capacity=%d",
+                hits, total - hits, total == 0 ? 0 : hits * 100.0 / total, evictions(), capacity());
+    }
+
+    private int bucketOf(long state) {
+        return ((int) state & BUCKET_MASK) * SLOTS;
+    }
+
+    private static long tagOf(long state) {
+        return (state & TAG_MASK) | TAG_BIT;
+    }
+
+    // 64-bit finalizer of murmur3
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
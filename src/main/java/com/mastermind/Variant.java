@@ -0,0 +1,87 @@
+package com.mastermind;
+
+// Rules of a game: palette size, secret length, number of rounds and whether
+// colors may repeat. Also picks the fastest scoring representation that fits:
+//   TABLE   - codes packed and the score table under its memory cap (6x4, 8x4, ...)
+//   PACKED  - codes packed in an int, scored on the fly (up to 16 colors x 8 pegs);
+//             boards of more than 2^31 codes (15x8, 16x8) have no code space
+//   GENERIC - plain index arrays for anything larger
+public final class Variant {
+
+    public enum Representation { TABLE, PACKED, GENERIC }
+
+    private final int COLORS;
+    private final int PEGS;
+    private final int ROUNDS;
+    private final boolean REPEATS;
+
+    public Variant(int colors, int pegs, int rounds, boolean repeats) {
+        if (colors < 2 || pegs < 1 || rounds < 1) {
+            throw new IllegalArgumentException("Invalid variant: " + colors + " colors, " + pegs + " pegs, "
+                    + rounds + " rounds");
+        }
+        if (!repeats && colors < pegs) {
+            throw new IllegalArgumentException("Not enough colors for " + pegs + " pegs without repeats");
+        }
+        this.COLORS = colors;
+        this.PEGS = pegs;
+        this.ROUNDS = rounds;
+        this.REPEATS = repeats;
+    }
+
+    // The classic game: 6 colors, 4 pegs, 10 rounds, repeats allowed
+    public static Variant classic() {
+        return new Variant(6, 4, 10, true);
+    }
+
+    public int colors() {
+        return COLORS;
+    }
+
+    public int pegs() {
+        return PEGS;
+    }
+
+    public int rounds() {
+        return ROUNDS;
+    }
+
+    public boolean allowsRepeats() {
+        return REPEATS;
+    }
+
+    public Representation representation() {
+        if (!PackedScorer.supports(COLORS, PEGS)) {
+            return Representation.GENERIC;
+        }
+        CodeSpace space = codeSpace();
+        return space != null && ScoreTable.fits(space, ScoreTable.maxBytes())
+                ? Representation.TABLE : Representation.PACKED;
+    }
+
+    // Space of packed codes, or null if the codes do not pack or cannot be numbered by an int
+    public CodeSpace codeSpace() {
+        return CodeSpace.fits(COLORS, PEGS) ? CodeSpace.of(COLORS, PEGS) : null;
+    }
+
+    // True if a packed code follows the repeat rule
+    public boolean isAllowed(int code) {
+        if (REPEATS) {
+            return true;
+        }
+        int seen = 0;
+        for (int i = 0; i < PEGS; i++) {
+            int bit = 1 << PackedScorer.peg(code, i);
+            if ((seen & bit) != 0) {
+                return false;
+            }
+            seen |= bit;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return COLORS + "x" + PEGS + (REPEATS ? "" : " no repeats") + ", " + ROUNDS + " rounds";
+    }
+}
@@ -0,0 +1,78 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BatchScorerTest {
+
+    // =========================================================================
+    // 1. TEST: UN INTENTO CONTRA MUCHOS SECRETOS Y AL REVÉS
+    // =========================================================================
+    @Test
+    public void testCoincideConPackedScorer() {
+        SplittableRandom random = new SplittableRandom(5);
+        // Por debajo y por encima del umbral de reparto entre núcleos
+        for (int size : new int[]{100, BatchScorer.PARALLEL_THRESHOLD * 3 + 7}) {
+            int[] codes = new int[size];
+            for (int i = 0; i < size; i++) {
+                codes[i] = CodeSpace.of(8, 5).codeAt(random.nextInt(CodeSpace.of(8, 5).size()));
+            }
+            int fixed = codes[size / 2];
+            int[] secrets = new int[size];
+            int[] guesses = new int[size];
+
+            BatchScorer.scoreSecrets(fixed, codes, size - 1, secrets, 5);
+            BatchScorer.scoreGuesses(codes, size - 1, fixed, guesses, 5);
+
+            for (int i = 0; i < size - 1; i++) {
+                assertEquals(PackedScorer.score(fixed, codes[i], 5), secrets[i], "Secreto " + i);
+                assertEquals(PackedScorer.score(codes[i], fixed, 5), guesses[i], "Intento " + i);
+            }
+            assertEquals(0, secrets[size - 1], "Solo se escriben los primeros count");
+        }
+    }
+
+    // =========================================================================
+    // 2. TEST: ÍNDICES CON Y SIN TABLA DE PUNTUACIONES
+    // =========================================================================
+    @Test
+    public void testIndicesConYSinTabla() {
+        for (CodeSpace space : new CodeSpace[]{CodeSpace.of(6, 4), CodeSpace.of(8, 5)}) {
+            int[] all = new int[space.size()];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            int guess = space.size() / 3;
+            int[] scores = new int[all.length];
+
+            BatchScorer.scoreIndices(space, guess, all, all.length, scores);
+
+            for (int i = 0; i < all.length; i++) {
+                assertEquals(PackedScorer.score(space.codeAt(guess), space.codeAt(i), space.pegs()), scores[i],
+                        space + " código " + i);
+            }
+        }
+    }
+
+    // =========================================================================
+    // 3. TEST: LOTE CONTRA EL SECRETO DE LA LÓGICA
+    // =========================================================================
+    @Test
+    public void testLoteContraSecretoDeLaLogica() {
+        Color[] palette = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW, Color.BLACK, Color.WHITE};
+        MasterMindLogic logic = new MasterMindLogic(palette, 4, new String[]{"R", "V", "A", "M", "N", "B"});
+        CodeSpace space = logic.getCodeSpace();
+        int[] guesses = {space.codeAt(0), space.codeAt(500), space.codeAt(1295)};
+        int[] scores = new int[3];
+
+        logic.scoreGuesses(guesses, 3, scores);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(logic.scoreGuess(guesses[i]), scores[i]);
+        }
+    }
+}
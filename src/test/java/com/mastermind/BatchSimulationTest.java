@@ -0,0 +1,73 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchSimulationTest {
+
+    // =========================================================================
+    // 1. TEST DE SIMULACIÓN MINIMAX
+    // =========================================================================
+    @Test
+    public void testSimulacionMinimax() throws Exception {
+        PrintStream out = new PrintStream(new ByteArrayOutputStream());
+
+        SimulationStats stats = BatchSimulation.run(6, 4, 10, GuessStrategy.named("minimax"), 1000,
+                SecretGenerator.random(), out);
+
+        assertEquals(1000, stats.games());
+        assertEquals(1.0, stats.winRate(), "Minimax siempre gana en 10 rondas");
+        assertTrue(stats.averageGuesses() < 5, "Media por debajo de 5 intentos");
+        assertEquals(0, stats.wonWith(6), "Nunca necesita más de 5 intentos");
+    }
+
+    // =========================================================================
+    // 2. TEST DE LÍMITE DE RONDAS
+    // =========================================================================
+    @Test
+    public void testRondasLimitadasProvocanDerrotas() throws Exception {
+        PrintStream out = new PrintStream(new ByteArrayOutputStream());
+
+        SimulationStats stats = BatchSimulation.run(6, 4, 2, GuessStrategy.named("random"), 500,
+                SecretGenerator.random(), out);
+
+        assertEquals(500, stats.games());
+        assertTrue(stats.winRate() < 0.5, "Con 2 rondas se pierde casi siempre");
+        assertTrue(stats.toString().startsWith("games=500"));
+    }
+
+    // =========================================================================
+    // 3. TEST DE REPRODUCIBILIDAD CON SEMILLA
+    // =========================================================================
+    @Test
+    public void testSemillaReproducible() throws Exception {
+        PrintStream out = new PrintStream(new ByteArrayOutputStream());
+
+        SimulationStats first = BatchSimulation.run(6, 4, 10, GuessStrategy.named("minimax"), 600,
+                SecretGenerator.seeded(7), out);
+        SimulationStats second = BatchSimulation.run(6, 4, 10, GuessStrategy.named("minimax"), 600,
+                SecretGenerator.seeded(7), out);
+
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(first.wonWith(i), second.wonWith(i), "Mismo histograma con la misma semilla");
+        }
+
+        // La semilla también fija las elecciones de la estrategia aleatoria
+        first = BatchSimulation.run(6, 4, 10, GuessStrategy.named("random"), 600, SecretGenerator.seeded(7), out);
+        second = BatchSimulation.run(6, 4, 10, GuessStrategy.named("random"), 600, SecretGenerator.seeded(7), out);
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(first.wonWith(i), second.wonWith(i), "Mismo histograma aleatorio con la misma semilla");
+        }
+    }
+
+    @Test
+    public void testEstrategiaDesconocida() {
+        assertThrows(IllegalArgumentException.class, () -> GuessStrategy.named("magic"));
+    }
+}
@@ -0,0 +1,142 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BoardComponentTest {
+
+    private static final Color FONDO = new Color(141, 69, 220);
+    private static final Color VACIO = new Color(187, 183, 172);
+
+    private BoardComponent board;
+
+    @BeforeEach
+    public void setUp() {
+        board = new BoardComponent(10, 4, FONDO, VACIO);
+        Dimension size = board.getPreferredSize();
+        board.setSize(size);
+    }
+
+    private void clicar(int x, int y) {
+        board.dispatchEvent(new MouseEvent(board, MouseEvent.MOUSE_RELEASED, System.currentTimeMillis(), 0,
+                x, y, 1, false));
+    }
+
+    // =========================================================================
+    // 1. TEST DE GEOMETRÍA Y HIT-TEST
+    // =========================================================================
+    @Test
+    public void testCasillaBajoElPunto() {
+        for (int row = 0; row < board.rows(); row++) {
+            for (int slot = 0; slot < board.pegs(); slot++) {
+                Rectangle r = board.slotBounds(row, slot);
+                assertEquals(row * 4 + slot, board.slotAt(r.x + r.width / 2, r.y + r.height / 2));
+                assertEquals(row * 4 + slot, board.slotAt(r.x, r.y), "Esquina superior incluida");
+            }
+        }
+        Rectangle pin = board.pinBounds(0, 0);
+        assertEquals(-1, board.slotAt(pin.x, pin.y), "Un pin no es una casilla");
+        assertEquals(-1, board.slotAt(0, 0));
+        assertEquals(-1, board.slotAt(board.getWidth() - 1, 10), "Margen derecho");
+        assertEquals(-1, board.slotAt(100, board.getHeight() + 5), "Fuera del tablero");
+    }
+
+    @Test
+    public void testTableroCentradoSiSobraAncho() {
+        Rectangle antes = board.slotBounds(0, 0);
+        board.setSize(board.getPreferredSize().width + 100, board.getPreferredSize().height);
+
+        Rectangle despues = board.slotBounds(0, 0);
+        assertEquals(antes.x + 50, despues.x);
+        assertEquals(0, board.slotAt(despues.x + 1, despues.y + 1));
+    }
+
+    // =========================================================================
+    // 2. TEST DE CLICS
+    // =========================================================================
+    @Test
+    public void testClicAvisaFilaYCasilla() {
+        int[] pulsado = {-1, -1};
+        board.setSlotListener((row, slot) -> {
+            pulsado[0] = row;
+            pulsado[1] = slot;
+        });
+
+        Rectangle r = board.slotBounds(3, 2);
+        clicar(r.x + r.width / 2, r.y + r.height / 2);
+        assertEquals(3, pulsado[0]);
+        assertEquals(2, pulsado[1]);
+
+        pulsado[0] = -1;
+        Rectangle pin = board.pinBounds(3, 0);
+        clicar(pin.x + 1, pin.y + 1);
+        assertEquals(-1, pulsado[0], "Los clics fuera de una casilla se ignoran");
+    }
+
+    // =========================================================================
+    // 3. TEST DE COLORES Y PINTADO
+    // =========================================================================
+    @Test
+    public void testColoresIniciales() {
+        assertEquals(VACIO, board.getSlotColor(9, 3));
+        assertEquals(VACIO, board.getPinColor(9, 3));
+    }
+
+    @Test
+    public void testFilasVaciasHastaLaPrimeraEscritura() {
+        board.setPinColor(4, 3, Color.BLACK);
+
+        assertEquals(Color.BLACK, board.getPinColor(4, 3));
+        assertEquals(VACIO, board.getPinColor(4, 0), "El resto de la fila sigue vacío");
+        assertEquals(VACIO, board.getSlotColor(4, 3), "Las casillas no se tocan al pintar pines");
+        assertEquals(VACIO, board.getPinColor(5, 3));
+        // Una fila sin crear sigue comprobando el índice
+        assertThrows(IndexOutOfBoundsException.class, () -> board.getSlotColor(5, 4));
+    }
+
+    @Test
+    public void testPintaCasillasYPines() {
+        board.setSlotColor(1, 2, Color.RED);
+        board.setPinColor(1, 0, Color.BLACK);
+        board.setPinColor(1, 1, Color.WHITE);
+
+        BufferedImage image = new BufferedImage(board.getWidth(), board.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.getGraphics();
+        board.paint(g);
+        g.dispose();
+
+        assertEquals(Color.RED.getRGB(), centro(image, board.slotBounds(1, 2)));
+        assertEquals(VACIO.getRGB(), centro(image, board.slotBounds(1, 3)));
+        assertEquals(Color.BLACK.getRGB(), centro(image, board.pinBounds(1, 0)));
+        assertEquals(Color.WHITE.getRGB(), centro(image, board.pinBounds(1, 1)));
+        assertEquals(FONDO.getRGB(), image.getRGB(1, 1), "El fondo se pinta");
+    }
+
+    @Test
+    public void testPintaSoloFilasDelClip() {
+        board.setSlotColor(0, 0, Color.RED);
+        board.setSlotColor(5, 0, Color.RED);
+
+        BufferedImage image = new BufferedImage(board.getWidth(), board.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.getGraphics();
+        Rectangle fila5 = board.slotBounds(5, 0);
+        g.setClip(0, fila5.y, board.getWidth(), fila5.height);
+        board.paint(g);
+        g.dispose();
+
+        assertEquals(Color.RED.getRGB(), centro(image, fila5));
+        assertFalse(Color.RED.getRGB() == centro(image, board.slotBounds(0, 0)), "La fila 0 no se repinta");
+    }
+
+    private static int centro(BufferedImage image, Rectangle r) {
+        return image.getRGB(r.x + r.width / 2, r.y + r.height / 2);
+    }
+}
@@ -0,0 +1,85 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CandidateSetTest {
+
+    // =========================================================================
+    // 1. TEST DE FILTRADO INCREMENTAL
+    // =========================================================================
+    @Test
+    public void testNarrowIgualQueFiltroDirecto() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        CandidateSet set = new CandidateSet(space);
+        int secret = PackedScorer.pack(new int[]{3, 1, 4, 1});
+        int[] guesses = {PackedScorer.pack(new int[]{0, 0, 1, 1}), PackedScorer.pack(new int[]{2, 3, 4, 5})};
+
+        for (int guess : guesses) {
+            set.narrow(guess, PackedScorer.score(guess, secret, 4));
+        }
+
+        int expected = 0;
+        for (int i = 0; i < space.size(); i++) {
+            boolean consistent = true;
+            for (int guess : guesses) {
+                consistent &= PackedScorer.score(guess, space.codeAt(i), 4) == PackedScorer.score(guess, secret, 4);
+            }
+            assertEquals(consistent, set.contains(i), "Código " + i);
+            if (consistent) {
+                expected++;
+            }
+        }
+        assertEquals(expected, set.cardinality());
+        assertTrue(set.contains(space.indexOf(secret)), "El secreto siempre es posible");
+    }
+
+    // =========================================================================
+    // 2. TEST DE RECORRIDO
+    // =========================================================================
+    @Test
+    public void testRecorridoYCopia() {
+        CodeSpace space = CodeSpace.of(3, 2);
+        CandidateSet set = new CandidateSet(space);
+        // Una negra con el código 0 (color 0 en ambas posiciones)
+        set.narrow(0, PackedScorer.result(1, 0));
+
+        List<Integer> visited = new ArrayList<>();
+        set.forEach(visited::add);
+        int[] copy = new int[space.size()];
+        int n = set.toArray(copy);
+
+        assertEquals(4, set.cardinality());
+        assertEquals(List.of(1, 2, 3, 6), visited);
+        assertEquals(4, n);
+        assertEquals(3, copy[2]);
+        assertEquals(6, set.nextSetBit(4));
+        assertEquals(-1, set.nextSetBit(7));
+    }
+
+    // =========================================================================
+    // 3. TEST DE ESPACIO GRANDE SIN TABLA (8 colores x 6 fichas)
+    // =========================================================================
+    @Test
+    public void testEspacioGrande() {
+        CodeSpace space = CodeSpace.of(8, 6);
+        CandidateSet set = new CandidateSet(space);
+        int secret = PackedScorer.pack(new int[]{7, 6, 5, 4, 3, 2});
+        int guess = PackedScorer.pack(new int[]{0, 1, 2, 3, 4, 5});
+
+        assertEquals(262144, set.cardinality());
+        set.narrow(guess, PackedScorer.score(guess, secret, 6));
+
+        assertTrue(set.cardinality() < 262144);
+        assertTrue(set.contains(space.indexOf(secret)));
+        assertFalse(set.contains(space.indexOf(guess)));
+        set.reset();
+        assertEquals(262144, set.cardinality());
+    }
+}
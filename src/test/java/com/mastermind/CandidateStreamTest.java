@@ -0,0 +1,88 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CandidateStreamTest {
+
+    // =========================================================================
+    // 1. TEST DE EQUIVALENCIA CON EL BITSET
+    // =========================================================================
+    @Test
+    public void testMismosCandidatosQueCandidateSet() {
+        CodeSpace space = CodeSpace.of(6, 5);
+        CandidateSet set = new CandidateSet(space);
+        CandidateStream stream = new CandidateStream(space, null);
+        int secret = PackedScorer.pack(new int[]{3, 1, 4, 1, 5});
+        int[] guesses = {PackedScorer.pack(new int[]{0, 0, 1, 1, 2}), PackedScorer.pack(new int[]{2, 3, 4, 5, 0})};
+        for (int guess : guesses) {
+            set.narrow(guess, PackedScorer.score(guess, secret, 5));
+            stream.narrow(guess, PackedScorer.score(guess, secret, 5));
+        }
+
+        int[] expected = new int[set.cardinality()];
+        set.toArray(expected);
+        // Recorrido perezoso en orden de índice
+        PrimitiveIterator.OfInt it = stream.iterator();
+        for (int index : expected) {
+            assertEquals(index, it.nextInt());
+        }
+        assertFalse(it.hasNext());
+
+        CandidateStream.Scan scan = stream.scan(expected.length);
+        assertTrue(scan.isComplete(), "Con muestra suficiente salen todos");
+        assertArrayEquals(expected, scan.sample());
+        assertEquals(expected.length, stream.scan(0).count(), "Solo recuento, sin muestra");
+        assertEquals(2, stream.guesses());
+    }
+
+    // =========================================================================
+    // 2. TEST DE MUESTRA ACOTADA EN VARIOS TROZOS
+    // =========================================================================
+    @Test
+    public void testMuestraAcotada() {
+        // 531441 códigos: más de un trozo, así que se combinan resultados parciales
+        CodeSpace space = CodeSpace.of(9, 6);
+        int guess = PackedScorer.pack(new int[]{0, 1, 2, 3, 4, 5});
+        int score = PackedScorer.result(1, 1);
+        CandidateStream stream = new CandidateStream(space, null, 42);
+        stream.narrow(guess, score);
+
+        CandidateSet set = new CandidateSet(space);
+        set.narrow(guess, score);
+
+        CandidateStream.Scan scan = stream.scan(100);
+        assertEquals(set.cardinality(), scan.count());
+        assertEquals(100, scan.sample().length);
+        assertFalse(scan.isComplete());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(set.contains(scan.sample()[i]), "Solo códigos consistentes");
+            assertTrue(i == 0 || scan.sample()[i - 1] < scan.sample()[i], "Muestra ordenada y sin repetidos");
+        }
+        // La muestra reparte los códigos por todo el espacio
+        assertTrue(scan.sample()[0] < space.size() / 4 && scan.sample()[99] > space.size() * 3 / 4);
+
+        CandidateStream same = new CandidateStream(space, null, 42);
+        same.narrow(guess, score);
+        assertArrayEquals(scan.sample(), same.scan(100).sample(), "Misma semilla, misma muestra");
+    }
+
+    // =========================================================================
+    // 3. TEST DE REGLAS DE LA VARIANTE
+    // =========================================================================
+    @Test
+    public void testSinRepeticiones() {
+        Variant variant = new Variant(6, 4, 10, false);
+        CandidateStream stream = new CandidateStream(variant.codeSpace(), variant);
+
+        assertEquals(6 * 5 * 4 * 3, stream.scan(0).count());
+        assertTrue(CandidateStream.isNeeded(CodeSpace.of(12, 8)));
+        assertFalse(CandidateStream.isNeeded(CodeSpace.of(8, 5)));
+    }
+}
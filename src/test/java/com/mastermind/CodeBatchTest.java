@@ -0,0 +1,60 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CodeBatchTest {
+
+    // =========================================================================
+    // 1. TEST: EL LOTE PUNTÚA IGUAL QUE EL MOTOR EMPAQUETADO
+    // =========================================================================
+    @Test
+    public void testCoincideConPackedScorer() {
+        SplittableRandom random = new SplittableRandom(17);
+        int[][] sizes = {{6, 4}, {8, 5}, {10, 8}, {16, 8}, {3, 1}};
+        for (int[] size : sizes) {
+            int colors = size[0];
+            int pegs = size[1];
+            int[] codes = new int[500];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = codigoAleatorio(random, colors, pegs);
+            }
+            CodeBatch batch = new CodeBatch(colors, pegs, codes, codes.length);
+            int[] common = new int[codes.length];
+            int[] scores = new int[codes.length];
+
+            for (int g = 0; g < 50; g++) {
+                int guess = codigoAleatorio(random, colors, pegs);
+                batch.scoreAll(guess, common, scores);
+                for (int i = 0; i < codes.length; i++) {
+                    assertEquals(PackedScorer.score(guess, codes[i], pegs), scores[i], colors + "x" + pegs);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLoteDeCandidatos() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        int[] candidates = {0, 7, 1295};
+        CodeBatch batch = CodeBatch.of(space, candidates, 2);
+        int[] scores = new int[2];
+
+        batch.scoreAll(space.codeAt(7), new int[2], scores);
+
+        assertEquals(2, batch.size(), "Solo los primeros count candidatos");
+        assertEquals(PackedScorer.result(4, 0), scores[1]);
+        assertEquals(PackedScorer.score(space.codeAt(7), space.codeAt(0), 4), scores[0]);
+    }
+
+    private static int codigoAleatorio(SplittableRandom random, int colors, int pegs) {
+        int[] pegsArray = new int[pegs];
+        for (int i = 0; i < pegs; i++) {
+            pegsArray[i] = random.nextInt(colors);
+        }
+        return PackedScorer.pack(pegsArray);
+    }
+}
@@ -0,0 +1,38 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CodeSpaceTest {
+
+    // =========================================================================
+    // 1. TEST DE TAMAÑO E INSTANCIA COMPARTIDA
+    // =========================================================================
+    @Test
+    public void testTamanoDelEspacio() {
+        CodeSpace space = CodeSpace.of(6, 4);
+
+        assertEquals(1296, space.size(), "6 colores y 4 fichas son 1296 códigos");
+        assertSame(space, CodeSpace.of(6, 4));
+        assertThrows(IllegalArgumentException.class, () -> CodeSpace.of(6, 9));
+    }
+
+    // =========================================================================
+    // 2. TEST DE CONVERSIÓN ÍNDICE <-> CÓDIGO
+    // =========================================================================
+    @Test
+    public void testIndiceYCodigo() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        int[] codes = space.codes();
+
+        for (int i = 0; i < space.size(); i++) {
+            assertEquals(i, space.indexOf(codes[i]));
+            assertEquals(codes[i], space.codeAt(i));
+        }
+        assertEquals(PackedScorer.pack(new int[]{1, 0, 0, 0}), space.codeAt(1));
+        assertEquals(PackedScorer.pack(new int[]{5, 5, 5, 5}), space.codeAt(1295));
+    }
+}
@@ -0,0 +1,125 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class EngineMetricsTest {
+
+    // =========================================================================
+    // 1. TEST DE CONTADORES
+    // =========================================================================
+    @Test
+    public void testContadores() {
+        EngineMetrics metrics = new EngineMetrics();
+
+        metrics.checkGuessTook(1_000);
+        metrics.guessesScored(9);
+        metrics.sessionStarted();
+        metrics.sessionStarted();
+        metrics.sessionEnded();
+        metrics.gameFinished(4);
+        metrics.gameFinished(6);
+        metrics.gameFinished(-1);
+
+        assertEquals(10, metrics.getGuessesScored());
+        assertEquals(1, metrics.getCheckGuessCalls());
+        assertEquals(1, metrics.getActiveSessions());
+        assertEquals(2, metrics.getGamesWon());
+        assertEquals(1, metrics.getGamesLost());
+        assertEquals(5.0, metrics.getAverageGuesses(), 1e-9);
+        assertTrue(metrics.getGuessesPerSecond() > 0);
+        assertTrue(metrics.toString().startsWith("guesses=10 "), metrics.toString());
+
+        metrics.reset();
+        assertEquals(0, metrics.getGuessesScored());
+        assertEquals(0, metrics.getGamesWon());
+        assertEquals(1, metrics.getActiveSessions(), "Las sesiones abiertas siguen abiertas");
+    }
+
+    // =========================================================================
+    // 2. TEST DEL HISTOGRAMA DE LATENCIAS
+    // =========================================================================
+    @Test
+    public void testHistograma() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentileMicros(0.5));
+
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1_500);      // cubo [1024, 2048) ns
+        }
+        histogram.record(1_000_000);      // cubo [2^19, 2^20) ns
+
+        assertEquals(100, histogram.count());
+        assertEquals(2.048, histogram.percentileMicros(0.5), 1e-9);
+        assertEquals(2.048, histogram.percentileMicros(0.99), 1e-9);
+        assertEquals(1048.576, histogram.percentileMicros(1.0), 1e-9);
+        assertEquals((99 * 1_500 + 1_000_000) / 100_000.0, histogram.meanMicros(), 1e-9);
+    }
+
+    // =========================================================================
+    // 3. TEST DE INSTRUMENTACIÓN Y JMX
+    // =========================================================================
+    @Test
+    public void testMotorInstrumentadoVisiblePorJmx() throws Exception {
+        // Solo en la ejecución "metrics" de Surefire, que activa las métricas
+        assumeTrue(EngineMetrics.ENABLED);
+        EngineMetrics metrics = EngineMetrics.global();
+        long antesCheck = metrics.getCheckGuessCalls();
+        long antesSolver = metrics.getSolverCalls();
+        long antesGanadas = metrics.getGamesWon();
+        long antesPuntuadas = metrics.getGuessesScored();
+
+        Color[] palette = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW};
+        MasterMindLogic logic = new MasterMindLogic(palette, 4, new String[]{"R", "G", "B", "Y"});
+        logic.checkGuess(palette);
+        logic.scoreGuess(logic.encode(palette));
+        logic.scoreGuesses(new int[]{logic.encode(palette)}, 1, new int[1]);
+        assertEquals(antesPuntuadas + 3, metrics.getGuessesScored(), "Cada intento puntuado cuenta una vez");
+        new Solver(CodeSpace.of(4, 3), new MinimaxStrategy(false)).solve(5, 10);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(EngineMetrics.OBJECT_NAME);
+        assertTrue(server.isRegistered(name));
+        assertTrue((Long) server.getAttribute(name, "CheckGuessCalls") >= antesCheck + 1);
+        assertTrue((Long) server.getAttribute(name, "SolverCalls") >= antesSolver + 1);
+        assertTrue((Long) server.getAttribute(name, "GamesWon") >= antesGanadas + 1);
+        assertTrue((Double) server.getAttribute(name, "CheckGuessP99Micros") > 0);
+    }
+
+    // =========================================================================
+    // 4. TEST CON LAS MÉTRICAS DESACTIVADAS
+    // =========================================================================
+    @Test
+    public void testMotorSinMetricas() throws Exception {
+        // La ejecución por defecto de Surefire deja las métricas desactivadas, como en producción
+        assumeFalse(EngineMetrics.ENABLED);
+        EngineMetrics metrics = EngineMetrics.global();
+        long antesCheck = metrics.getCheckGuessCalls();
+        long antesSolver = metrics.getSolverCalls();
+
+        Color[] palette = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW};
+        MasterMindLogic logic = new MasterMindLogic(palette, 4, new String[]{"R", "G", "B", "Y"}) {
+            @Override
+            public Color[] generateSecret(int secretLength) {
+                return palette;
+            }
+        };
+        assertEquals(4, logic.checkGuess(palette).blacks, "El motor puntúa igual sin métricas");
+        new Solver(CodeSpace.of(4, 3), new MinimaxStrategy(false)).solve(5, 10);
+
+        assertEquals(antesCheck, metrics.getCheckGuessCalls(), "Nada se mide con las métricas apagadas");
+        assertEquals(antesSolver, metrics.getSolverCalls());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertFalse(server.isRegistered(new ObjectName(EngineMetrics.OBJECT_NAME)));
+    }
+}
@@ -0,0 +1,84 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EntropyHintStrategyTest {
+
+    private static int[] candidatosTras(CodeSpace space, int guess, int secret) {
+        CandidateSet set = new CandidateSet(space);
+        set.narrow(space.codeAt(guess), PackedScorer.score(space.codeAt(guess), space.codeAt(secret), space.pegs()));
+        int[] candidates = new int[set.cardinality()];
+        set.toArray(candidates);
+        return candidates;
+    }
+
+    // =========================================================================
+    // 1. TEST: MISMAS JUGADAS QUE LA VERSIÓN ESCALAR
+    // =========================================================================
+    @Test
+    public void testIgualQueMaxEntropy() {
+        for (CodeSpace space : new CodeSpace[]{CodeSpace.of(6, 4), CodeSpace.of(4, 5)}) {
+            int[] all = new int[space.size()];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            assertEquals(new MaxEntropyStrategy().chooseGuess(space, all, all.length),
+                    new EntropyHintStrategy().chooseGuess(space, all, all.length), "Primera jugada en " + space);
+
+            for (int secret = 0; secret < space.size(); secret += space.size() / 7) {
+                int[] candidates = candidatosTras(space, 1, secret);
+                assertEquals(new MaxEntropyStrategy().chooseGuess(space, candidates, candidates.length),
+                        new EntropyHintStrategy(false, Long.MAX_VALUE).chooseGuess(space, candidates, candidates.length),
+                        "Tras el secreto " + secret + " en " + space);
+            }
+        }
+    }
+
+    // =========================================================================
+    // 2. TEST DE TABLEROS GRANDES: SOLO CANDIDATOS COMO JUGADAS
+    // =========================================================================
+    @Test
+    public void testTableroGrandeUsaCandidatos() {
+        CodeSpace space = CodeSpace.of(8, 5);
+        int[] candidates = candidatosTras(space, 0, 12345);
+        int count = candidates.length;
+
+        // Presupuesto para probar solo la mitad de los candidatos
+        int guess = new EntropyHintStrategy(true, (long) count * (count / 2)).chooseGuess(space, candidates, count);
+        assertTrue(Arrays.binarySearch(candidates, 0, count, guess) >= 0, "La pista es un candidato");
+
+        int todos = new EntropyHintStrategy(false, (long) count * count).chooseGuess(space, candidates, count);
+        assertTrue(Arrays.binarySearch(candidates, 0, count, todos) >= 0);
+        assertEquals(candidates[0], new EntropyHintStrategy().chooseGuess(space, candidates, 2));
+    }
+
+    // =========================================================================
+    // 3. TEST: MISMAS JUGADAS EN UN TABLERO SIN TABLA (CAMINO CODEBATCH)
+    // =========================================================================
+    @Test
+    public void testIgualQueMaxEntropySinTabla() {
+        CodeSpace space = CodeSpace.of(10, 4);
+        assertNull(ScoreTable.forSpace(space), "10x4 no tiene tabla de resultados");
+        int segunda = space.indexOf(PackedScorer.pack(new int[]{2, 3, 4, 5}));
+
+        for (int secret = 0; secret < space.size(); secret += space.size() / 5) {
+            // Dos jugadas dejan pocos candidatos, así que se prueban todos los códigos como jugada
+            CandidateSet set = new CandidateSet(space);
+            for (int guess : new int[]{1, segunda}) {
+                set.narrow(space.codeAt(guess),
+                        PackedScorer.score(space.codeAt(guess), space.codeAt(secret), space.pegs()));
+            }
+            int[] candidates = new int[set.cardinality()];
+            set.toArray(candidates);
+            assertEquals(new MaxEntropyStrategy().chooseGuess(space, candidates, candidates.length),
+                    new EntropyHintStrategy(false, Long.MAX_VALUE).chooseGuess(space, candidates, candidates.length),
+                    "Tras el secreto " + secret + " (" + candidates.length + " candidatos)");
+        }
+    }
+}
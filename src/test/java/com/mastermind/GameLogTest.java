@@ -0,0 +1,158 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameLogTest {
+
+    @TempDir
+    Path dir;
+
+    // =========================================================================
+    // 1. TEST DE ESCRITURA Y LECTURA
+    // =========================================================================
+    @Test
+    public void testEscribirYReproducir() throws Exception {
+        Path file = dir.resolve("games.mmlog");
+        CodeSpace space = CodeSpace.of(6, 5);
+        int secret = PackedScorer.pack(new int[]{5, 4, 3, 2, 1});
+        int[] guesses = {PackedScorer.pack(new int[]{0, 0, 1, 1, 2}), secret};
+        int[] scores = {PackedScorer.score(guesses[0], secret, 5), PackedScorer.result(5, 0)};
+
+        try (GameLogWriter writer = new GameLogWriter(file, space)) {
+            writer.writeGame(secret, guesses, scores, 2);
+            writer.writeGame(secret, guesses, scores, 1);
+        }
+        // 8 de cabecera + (1 + 3 + 2 * 4) + (1 + 3 + 1 * 4)
+        assertEquals(8 + 12 + 8, Files.size(file), "Cada intento ocupa 3 bytes de código y 1 de puntuación");
+
+        try (GameLogReader reader = new GameLogReader(file)) {
+            assertTrue(reader.next());
+            assertEquals(2, reader.guessCount());
+            assertEquals(secret, reader.secret());
+            assertEquals(guesses[0], reader.guess(0));
+            assertEquals(scores[0], reader.score(0));
+            assertTrue(reader.isWon());
+
+            assertTrue(reader.next());
+            assertFalse(reader.isWon(), "La segunda partida acaba sin acertar");
+            assertFalse(reader.next());
+        }
+    }
+
+    // =========================================================================
+    // 2. TEST DE AÑADIR A UN LOG EXISTENTE
+    // =========================================================================
+    @Test
+    public void testAnadirYCabeceraIncompatible() throws Exception {
+        Path file = dir.resolve("append.mmlog");
+        CodeSpace space = CodeSpace.of(6, 4);
+        for (int i = 0; i < 2; i++) {
+            try (GameLogWriter writer = new GameLogWriter(file, space)) {
+                writer.writeGame(0, new int[]{0}, new int[]{PackedScorer.result(4, 0)}, 1);
+            }
+        }
+
+        try (GameLogReader reader = new GameLogReader(file)) {
+            assertEquals(2, reader.summarize(10).games());
+        }
+        assertThrows(IOException.class, () -> new GameLogWriter(file, CodeSpace.of(8, 4)));
+    }
+
+    // =========================================================================
+    // 3. TEST DE SIMULACIÓN REGISTRADA
+    // =========================================================================
+    @Test
+    public void testSimulacionRegistrada() throws Exception {
+        Path file = dir.resolve("simulation.mmlog");
+        CodeSpace space = CodeSpace.of(6, 4);
+        SimulationStats stats;
+        try (GameLogWriter writer = new GameLogWriter(file, space)) {
+            stats = BatchSimulation.run(6, 4, 10, GuessStrategy.named("minimax"), 300, SecretGenerator.seeded(3),
+                    writer, new PrintStream(new ByteArrayOutputStream()));
+        }
+
+        try (GameLogReader reader = new GameLogReader(file)) {
+            SimulationStats replay = reader.summarize(10);
+            assertEquals(300, replay.games());
+            assertEquals(stats.averageGuesses(), replay.averageGuesses(), 1e-9);
+        }
+    }
+
+    // =========================================================================
+    // 4. TEST DE VOLCADO EN TEXTO
+    // =========================================================================
+    @Test
+    public void testVolcadoEnTexto() throws Exception {
+        Path file = dir.resolve("text.mmlog");
+        CodeSpace space = CodeSpace.of(6, 5);
+        int secret = PackedScorer.pack(new int[]{5, 4, 3, 2, 1});
+        int[] guesses = {PackedScorer.pack(new int[]{0, 0, 1, 1, 2}), secret};
+        int[] scores = {PackedScorer.score(guesses[0], secret, 5), PackedScorer.result(5, 0)};
+        try (GameLogWriter writer = new GameLogWriter(file, space)) {
+            writer.writeGame(secret, guesses, scores, 2);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GameLogReader reader = new GameLogReader(file)) {
+            reader.printTo(Palette.hex(6), new PrintStream(bytes, true));
+        }
+
+        assertEquals("54321: 00112 0/2 54321 5/0", bytes.toString().trim());
+    }
+
+    // =========================================================================
+    // 5. TEST DE LOG CORTADO A MEDIA PARTIDA
+    // =========================================================================
+    @Test
+    public void testLogTruncado() throws Exception {
+        Path file = dir.resolve("cut.mmlog");
+        CodeSpace space = CodeSpace.of(6, 5);
+        int secret = PackedScorer.pack(new int[]{5, 4, 3, 2, 1});
+        int[] guesses = {PackedScorer.pack(new int[]{0, 0, 1, 1, 2}), secret};
+        int[] scores = {PackedScorer.score(guesses[0], secret, 5), PackedScorer.result(5, 0)};
+        try (GameLogWriter writer = new GameLogWriter(file, space)) {
+            writer.writeGame(secret, guesses, scores, 2);
+            writer.writeGame(secret, guesses, scores, 2);
+        }
+        // Un fallo a mitad de escritura deja el último intento a medias
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+
+        try (GameLogReader reader = new GameLogReader(file)) {
+            assertTrue(reader.next());
+            assertTrue(reader.isWon());
+            assertFalse(reader.isTruncated());
+            assertFalse(reader.next(), "La partida incompleta no se lee");
+            assertTrue(reader.isTruncated());
+            assertEquals(1, reader.summarize(10).games(), "Solo cuenta la partida completa");
+        }
+
+        // Al reabrir se corta la partida incompleta y lo nuevo se añade tras la última completa
+        try (GameLogWriter writer = new GameLogWriter(file, space)) {
+            writer.writeGame(secret, guesses, scores, 1);
+        }
+        try (GameLogReader reader = new GameLogReader(file)) {
+            assertEquals(2, reader.summarize(10).games());
+            assertFalse(reader.isTruncated());
+        }
+
+        // Un registro de otra versión no se reabre
+        byte[] otraVersion = Files.readAllBytes(file);
+        otraVersion[4] = (byte) (GameLogWriter.VERSION + 1);
+        Files.write(file, otraVersion);
+        assertThrows(IOException.class, () -> new GameLogWriter(file, space));
+    }
+}
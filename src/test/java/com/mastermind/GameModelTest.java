@@ -0,0 +1,113 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameModelTest {
+
+    @TempDir
+    Path dir;
+
+    // =========================================================================
+    // 1. TEST DE REGLAS DE LOS EVENTOS
+    // =========================================================================
+    @Test
+    public void testReglasDeEventos() {
+        GameModel modelo = new GameModel(2, 2, 3);
+
+        assertFalse(modelo.apply(GameModel.placePeg(0)), "Sin color seleccionado no se coloca nada");
+        assertFalse(modelo.apply(GameModel.selectColor(3)), "Color fuera de la paleta");
+        assertTrue(modelo.apply(GameModel.selectColor(2)));
+        assertTrue(modelo.apply(GameModel.placePeg(1)));
+        assertFalse(modelo.apply(GameModel.checkRow(0, 0)), "La fila está incompleta");
+        assertEquals(2, modelo.position(), "Los eventos rechazados no se guardan");
+
+        assertTrue(modelo.apply(GameModel.placePeg(0)));
+        assertTrue(modelo.apply(GameModel.checkRow(0, 1)));
+        assertEquals(1, modelo.currentRow());
+        assertEquals(2, modelo.colorAt(0, 0));
+        assertEquals(1, modelo.whites(0));
+        assertTrue(modelo.isPlaying());
+
+        assertTrue(modelo.applyGuess(PackedScorer.pack(new int[]{0, 1}), PackedScorer.result(2, 0)));
+        assertTrue(modelo.isWon());
+        assertFalse(modelo.apply(GameModel.placePeg(0)), "La partida ha terminado");
+        assertFalse(modelo.apply(GameModel.selectColor(1)), "Tampoco se elige color al terminar");
+    }
+
+    // =========================================================================
+    // 2. TEST DE DESHACER, AVANZAR Y FILAS CAMBIADAS
+    // =========================================================================
+    @Test
+    public void testDeshacerYAvanzar() {
+        GameModel modelo = new GameModel(10, 4, 6);
+        modelo.applyGuess(PackedScorer.pack(new int[]{0, 0, 1, 1}), PackedScorer.result(1, 0));
+        modelo.applyGuess(PackedScorer.pack(new int[]{2, 2, 3, 3}), PackedScorer.result(0, 2));
+        int total = modelo.position();
+        modelo.clearChanges();
+
+        assertTrue(modelo.undo(), "Deshace la comprobación de la fila 1");
+        assertEquals(1, modelo.currentRow());
+        assertEquals(0, modelo.whites(1));
+        assertEquals(3, modelo.colorAt(1, 3), "Las clavijas siguen puestas");
+        assertEquals(0, modelo.changedFrom(), "Hay que volver a pintar desde la primera fila");
+        assertTrue(modelo.changedTo() >= 1);
+
+        modelo.seek(0);
+        assertEquals(-1, modelo.colorAt(0, 0));
+        assertEquals(-1, modelo.selectedColor());
+        modelo.seek(total);
+        assertEquals(2, modelo.currentRow(), "Avance rápido hasta el final del registro");
+        assertEquals(2, modelo.whites(1));
+
+        modelo.seek(4);
+        modelo.clearChanges();
+        assertTrue(modelo.apply(GameModel.selectColor(5)));
+        assertEquals(5, modelo.length(), "Un evento nuevo descarta lo deshecho");
+        assertFalse(modelo.redo());
+        assertEquals(-1, modelo.changedTo(), "Seleccionar no cambia filas");
+    }
+
+    // =========================================================================
+    // 3. TEST DE REPETICIÓN DE PARTIDAS GRABADAS SIN INTERFAZ
+    // =========================================================================
+    @Test
+    public void testRepetirPartidasGrabadas() throws Exception {
+        CodeSpace space = CodeSpace.of(6, 4);
+        Path file = dir.resolve("games.log");
+        Solver solver = new Solver(space, new MinimaxStrategy(false), new TranspositionCache(1 << 12));
+        try (GameLogWriter log = new GameLogWriter(file, space)) {
+            for (int secret = 0; secret < space.size(); secret++) {
+                solver.solve(secret, 10);
+                solver.writeTo(log, secret);
+            }
+        }
+
+        GameModel modelo = new GameModel(10, 4, 6);
+        int partidas = 0;
+        try (GameLogReader reader = new GameLogReader(file)) {
+            while (reader.next()) {
+                assertTrue(reader.replayInto(modelo));
+                assertEquals(reader.isWon(), modelo.isWon());
+                assertEquals(reader.guessCount(), modelo.currentRow());
+                int last = reader.guessCount() - 1;
+                assertEquals(PackedScorer.peg(reader.guess(last), 2), modelo.colorAt(last, 2));
+
+                // Vuelta al principio y avance rápido al final
+                int fin = modelo.position();
+                modelo.seek(0);
+                assertEquals(0, modelo.currentRow());
+                modelo.seek(fin);
+                assertTrue(modelo.isWon());
+                partidas++;
+            }
+        }
+        assertEquals(space.size(), partidas);
+    }
+}
@@ -0,0 +1,188 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameServerTest {
+
+    private GameServer server;
+    private int port;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new GameServer(CodeSpace.of(6, 4), new String[]{"R", "V", "A", "M", "N", "L"},
+                SecretGenerator.seeded(1), 60_000);
+        port = server.start(0);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    // =========================================================================
+    // 1. TEST DEL PROTOCOLO COMPLETO
+    // =========================================================================
+    @Test
+    public void testPartidaPorSocket() throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            OutputStream out = socket.getOutputStream();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.US_ASCII));
+
+            String created = enviar(out, in, "NEW");
+            assertTrue(created.startsWith("OK "), created);
+            String id = created.substring(3);
+            assertEquals(1, server.activeSessions());
+
+            assertTrue(enviar(out, in, "GUESS " + id + " RVAM").startsWith("SCORE "));
+            String secret = enviar(out, in, "REVEAL " + id).substring(7);
+            assertEquals(4, secret.length());
+            assertEquals(0, server.activeSessions(), "REVEAL termina la sesión");
+        }
+    }
+
+    // =========================================================================
+    // 2. TEST DE PETICIONES INVÁLIDAS
+    // =========================================================================
+    @Test
+    public void testPeticionesInvalidas() throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            OutputStream out = socket.getOutputStream();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.US_ASCII));
+            String id = enviar(out, in, "NEW").substring(3);
+
+            assertEquals("ERR unknown command", enviar(out, in, "HELLO"));
+            assertEquals("ERR unknown session", enviar(out, in, "GUESS 999 RVAM"));
+            assertEquals("ERR bad code", enviar(out, in, "GUESS " + id + " RVXM"));
+            assertEquals("ERR bad session id", enviar(out, in, "REVEAL abc"));
+
+            // Una sesión acertada o agotada no admite más intentos
+            String respuesta = "";
+            for (int i = 0; i <= GameSession.MAX_GUESSES && !respuesta.startsWith("ERR"); i++) {
+                respuesta = enviar(out, in, "GUESS " + id + " RVAM");
+            }
+            assertEquals("ERR game over", respuesta);
+        }
+    }
+
+    // =========================================================================
+    // 3. TEST DE EXPULSIÓN POR INACTIVIDAD
+    // =========================================================================
+    @Test
+    public void testExpulsionPorInactividad() throws Exception {
+        server.handle("NEW");
+        server.handle("NEW");
+        assertEquals(2, server.activeSessions());
+
+        server.evictIdle(System.nanoTime() + 120_000_000_000L);
+
+        assertEquals(0, server.activeSessions());
+    }
+
+    // =========================================================================
+    // 4. TEST DE SESIONES QUE SOBREVIVEN A UN REINICIO
+    // =========================================================================
+    @Test
+    public void testReanudaSesionesGuardadas(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("sessions.mmss");
+        CodeSpace space = CodeSpace.of(6, 4);
+        String[] labels = {"R", "V", "A", "M", "N", "L"};
+        String id;
+        String primera;
+        try (SessionStore store = new SessionStore(file, space)) {
+            GameServer antes = new GameServer(space, labels, SecretGenerator.seeded(1), 60_000, store);
+            id = antes.handle("NEW").substring(3);
+            primera = antes.handle("GUESS " + id + " RVAM");
+            antes.handle("REVEAL " + antes.handle("NEW").substring(3));
+            antes.close();
+        }
+
+        try (SessionStore store = new SessionStore(file, space)) {
+            GameServer despues = new GameServer(space, labels, SecretGenerator.seeded(2), 60_000, store);
+            assertEquals(1, despues.activeSessions(), "Solo vuelve la sesión no terminada");
+            assertEquals(primera, despues.handle("GUESS " + id + " RVAM"), "El secreto se conserva");
+            assertEquals(2, store.sessions().get(Long.parseLong(id)).guesses());
+            assertEquals("OK 3", despues.handle("NEW"), "Los ids no se repiten tras reiniciar");
+            despues.close();
+        }
+    }
+
+    // =========================================================================
+    // 5. TEST DE FALLOS DEL ARCHIVO DE SESIONES
+    // =========================================================================
+    @Test
+    public void testFalloDelArchivoNoParaElServidor(@TempDir Path dir) throws Exception {
+        CodeSpace space = CodeSpace.of(6, 4);
+        // Sincroniza tras cada registro, para que el fallo aparezca en la siguiente jugada
+        SessionStore store = new SessionStore(dir.resolve("sessions.mmss"), space, 1);
+        GameServer conArchivo = new GameServer(space, new String[]{"R", "V", "A", "M", "N", "L"},
+                SecretGenerator.seeded(1), 60_000, store);
+        String id = conArchivo.handle("NEW").substring(3);
+        assertTrue(conArchivo.syncStore());
+
+        // Simula un disco que deja de responder
+        store.close();
+        assertTrue(conArchivo.handle("GUESS " + id + " RVAM").startsWith("SCORE"), "Queda en el búfer");
+        assertFalse(conArchivo.syncStore(), "El fallo se informa sin parar el servidor");
+
+        assertEquals("ERR cannot save session", conArchivo.handle("GUESS " + id + " VVVV"));
+        assertEquals(1, store.sessions().get(Long.parseLong(id)).guesses(), "La jugada rechazada no se aplica");
+        assertEquals("ERR cannot save session", conArchivo.handle("REVEAL " + id));
+        conArchivo.evictIdle(System.nanoTime() + 120_000_000_000L);
+        assertEquals(1, conArchivo.activeSessions(), "Sin registrar su fin, la sesión sigue abierta");
+    }
+
+    // =========================================================================
+    // 6. TEST DE RESPUESTAS RETENIDAS HASTA EL FSYNC
+    // =========================================================================
+    @Test
+    public void testRespuestasEsperanAlFsync(@TempDir Path dir) throws Exception {
+        CodeSpace space = CodeSpace.of(6, 4);
+        SessionStore store = new SessionStore(dir.resolve("sessions.mmss"), space);
+        GameServer conArchivo = new GameServer(space, new String[]{"R", "V", "A", "M", "N", "L"},
+                SecretGenerator.seeded(1), 60_000, store);
+        int puerto = conArchivo.start(0);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), puerto)) {
+            OutputStream out = socket.getOutputStream();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.US_ASCII));
+            assertTrue(enviar(out, in, "NEW").startsWith("OK "));
+
+            // Sin fsync posible ninguna respuesta sale, por muchas lecturas que haya
+            store.close();
+            socket.setSoTimeout(1500);
+            for (int i = 0; i < 3; i++) {
+                out.write("NEW\n".getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                Thread.sleep(100);
+            }
+            assertThrows(SocketTimeoutException.class, in::readLine, "Respuesta enviada antes del fsync");
+        }
+        assertThrows(IOException.class, conArchivo::close, "El último fsync también falla");
+    }
+
+    private String enviar(OutputStream out, BufferedReader in, String line) throws Exception {
+        out.write((line + "\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return in.readLine();
+    }
+}
@@ -0,0 +1,95 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameSessionTest {
+
+    private final Color[] PALETTE = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW};
+    private final String[] LABELS = {"R", "G", "B", "Y"};
+
+    // =========================================================================
+    // 1. TEST DE PARTIDA
+    // =========================================================================
+    @Test
+    public void testPartidaHastaAcertar() {
+        CodeSpace space = CodeSpace.of(4, 4);
+        int secret = PackedScorer.pack(new int[]{0, 1, 2, 3});
+        GameSession session = new GameSession(space, secret);
+
+        int score = session.guess(PackedScorer.pack(new int[]{1, 0, 2, 2}));
+        assertEquals(PackedScorer.result(1, 2), score);
+        assertFalse(session.isSolved());
+
+        session.guess(secret);
+        assertTrue(session.isSolved());
+        assertEquals(2, session.guesses());
+        assertThrows(IllegalStateException.class, () -> session.guess(secret), "Resuelta no admite más intentos");
+
+        GameSession sinAcertar = new GameSession(space, secret);
+        for (int i = 0; i < GameSession.MAX_GUESSES; i++) {
+            assertFalse(sinAcertar.isOver());
+            sinAcertar.guess(0);
+        }
+        assertTrue(sinAcertar.isOver(), "Tras el máximo de intentos la partida termina");
+    }
+
+    // =========================================================================
+    // 2. TEST DE SEMILLA REPRODUCIBLE
+    // =========================================================================
+    @Test
+    public void testSemillaReproducible() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        SecretGenerator first = SecretGenerator.seeded(2024);
+        SecretGenerator second = SecretGenerator.seeded(2024);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.nextSecret(space), second.nextSecret(space), "Misma semilla, mismos secretos");
+        }
+        assertEquals(first.secretFor(space, 5), second.secretFor(space, 5));
+        assertNotEquals(SecretGenerator.seeded(1).secretFor(space, 0), SecretGenerator.seeded(2).secretFor(space, 0));
+    }
+
+    @Test
+    public void testSecretosRepartidos() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        SecretGenerator generator = SecretGenerator.seeded(99);
+        int[] histogram = new int[space.size()];
+
+        for (int i = 0; i < 129600; i++) {
+            histogram[generator.nextSecret(space)]++;
+        }
+
+        // Media 100 por código: todos deben aparecer
+        assertTrue(IntStream.of(histogram).min().getAsInt() > 50);
+        assertTrue(IntStream.of(histogram).max().getAsInt() < 160);
+    }
+
+    // =========================================================================
+    // 3. TEST DE SESIONES CONCURRENTES DESDE LA LÓGICA
+    // =========================================================================
+    @Test
+    public void testSesionesConcurrentes() {
+        MasterMindLogic logic = new MasterMindLogic(PALETTE, 4, LABELS);
+        SecretGenerator generator = SecretGenerator.random();
+        ConcurrentHashMap<Integer, Boolean> solved = new ConcurrentHashMap<>();
+
+        IntStream.range(0, 2000).parallel().forEach(i -> {
+            GameSession session = logic.newSession(generator);
+            session.guess(session.secret());
+            solved.put(i, session.isSolved());
+        });
+
+        assertEquals(2000, solved.size());
+        assertFalse(solved.containsValue(false));
+    }
+}
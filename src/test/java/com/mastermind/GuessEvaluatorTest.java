@@ -0,0 +1,162 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GuessEvaluatorTest {
+
+    private static final Color[] PALETA = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW, Color.ORANGE, Color.PINK};
+    private static final String[] ETIQUETAS = {"R", "G", "B", "Y", "O", "P"};
+    private static final Color[] SECRETO = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW};
+
+    private GuessEvaluator evaluator;
+
+    private static MasterMindLogic logica() {
+        return new MasterMindLogic(Variant.classic(), PALETA, ETIQUETAS) {
+            @Override
+            public Color[] generateSecret(int secretLength) {
+                return SECRETO;
+            }
+        };
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (evaluator != null) {
+            evaluator.close();
+        }
+    }
+
+    // =========================================================================
+    // 1. TEST DE EVALUACIÓN EN SEGUNDO PLANO
+    // =========================================================================
+    @Test
+    public void testEvaluaEnOtroHilo() throws Exception {
+        List<Thread> hilos = new ArrayList<>();
+        evaluator = new GuessEvaluator(logica(), new RandomConsistentStrategy(), r -> {
+            hilos.add(Thread.currentThread());
+            r.run();
+        });
+        MasterMindLogic.Result[] recibido = new MasterMindLogic.Result[1];
+
+        evaluator.evaluate(new Color[]{Color.RED, Color.BLUE, Color.PINK, Color.PINK}, r -> recibido[0] = r);
+        evaluator.awaitIdle();
+
+        assertEquals(1, recibido[0].blacks);
+        assertEquals(1, recibido[0].whites);
+        assertTrue(hilos.get(0) != Thread.currentThread(), "La lógica no corre en el hilo que la pide");
+    }
+
+    // =========================================================================
+    // 2. TEST DE CANCELACIÓN
+    // =========================================================================
+    @Test
+    public void testCancelarDescartaResultado() throws Exception {
+        CountDownLatch empezada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        MasterMindLogic lenta = new MasterMindLogic(Variant.classic(), PALETA, ETIQUETAS) {
+            @Override
+            public Result checkGuess(Color[] guess) {
+                empezada.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.checkGuess(guess);
+            }
+        };
+        evaluator = new GuessEvaluator(lenta, new RandomConsistentStrategy(), Runnable::run);
+        AtomicInteger entregas = new AtomicInteger();
+
+        evaluator.evaluate(SECRETO, r -> entregas.incrementAndGet());
+        empezada.await();
+        evaluator.cancel();
+        liberar.countDown();
+        evaluator.awaitIdle();
+        assertEquals(0, entregas.get(), "Un resultado cancelado no se entrega");
+
+        // Las peticiones posteriores siguen funcionando
+        evaluator.evaluate(SECRETO, r -> entregas.incrementAndGet());
+        evaluator.awaitIdle();
+        assertEquals(1, entregas.get());
+    }
+
+    // =========================================================================
+    // 3. TEST DE PISTAS
+    // =========================================================================
+    @Test
+    public void testPistaMinimax() throws Exception {
+        evaluator = new GuessEvaluator(logica(), new MinimaxStrategy(), Runnable::run);
+        CodeSpace space = CodeSpace.of(6, 4);
+        int[] todos = new int[space.size()];
+        for (int i = 0; i < todos.length; i++) {
+            todos[i] = i;
+        }
+        int[] pista = {-1};
+
+        evaluator.suggest(space, todos, todos.length, g -> pista[0] = g);
+        evaluator.awaitIdle();
+
+        assertEquals(PackedScorer.pack(new int[]{1, 1, 0, 0}), space.codeAt(pista[0]), "Primera jugada minimax");
+    }
+
+    // =========================================================================
+    // 4. TEST DE RECUENTO QUE SOBREVIVE A EDITAR LA FILA
+    // =========================================================================
+    @Test
+    public void testRecuentoSobreviveAEditarLaFila() throws Exception {
+        CountDownLatch empezada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        GuessStrategy lenta = new GuessStrategy() {
+            @Override
+            public int chooseGuess(CodeSpace space, int[] candidates, int count) {
+                empezada.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return candidates[0];
+            }
+
+            @Override
+            public String name() {
+                return "lenta";
+            }
+        };
+        evaluator = new GuessEvaluator(logica(), lenta, Runnable::run);
+        CodeSpace space = CodeSpace.of(6, 4);
+        AtomicInteger pistas = new AtomicInteger();
+        evaluator.suggest(space, new int[]{0, 1}, 2, g -> pistas.incrementAndGet());
+        empezada.await();
+
+        // Recuento en cola detrás de la pista: ninguna clavija es el color 0
+        CandidateStream stream = new CandidateStream(space, null);
+        stream.narrow(PackedScorer.pack(new int[]{0, 0, 0, 0}), PackedScorer.result(0, 0));
+        long[] recuento = {-1};
+        evaluator.count(stream, scan -> recuento[0] = scan.count());
+
+        // La comprobación no espera a que termine la pista
+        CountDownLatch comprobada = new CountDownLatch(1);
+        evaluator.evaluate(SECRETO, r -> comprobada.countDown());
+        assertTrue(comprobada.await(10, TimeUnit.SECONDS), "La comprobación corre en su propio hilo");
+
+        // Editar la fila cancela la pista, no el recuento
+        evaluator.cancel();
+        liberar.countDown();
+        evaluator.awaitIdle();
+        assertEquals(0, pistas.get(), "La pista cancelada no se entrega");
+        assertEquals(5 * 5 * 5 * 5, recuento[0], "El recuento sigue en pie");
+    }
+}
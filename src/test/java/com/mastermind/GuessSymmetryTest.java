@@ -0,0 +1,163 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GuessSymmetryTest {
+
+    // =========================================================================
+    // 1. TEST DE LA PRIMERA JUGADA
+    // =========================================================================
+    @Test
+    public void testPrimeraJugada() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        int[] representantes = GuessSymmetry.of(space).representatives();
+
+        // AAAA, AAAB, AABB, AABC y ABCD
+        assertEquals(5, representantes.length);
+        // La última clavija es la más significativa del índice
+        int aabb = space.indexOf(PackedScorer.pack(new int[]{1, 1, 0, 0}));
+        assertTrue(Arrays.binarySearch(representantes, aabb) >= 0, "Se ofrece el menor índice de la clase");
+
+        GuessSymmetry simetria = GuessSymmetry.of(space);
+        assertEquals(simetria.canonical(PackedScorer.pack(new int[]{4, 2, 2, 5})),
+                simetria.canonical(PackedScorer.pack(new int[]{1, 1, 0, 3})), "Mismo reparto de colores");
+        assertNull(simetria.representatives(GuessSymmetry.MIN_CANDIDATES - 1), "Con pocos candidatos no compensa");
+    }
+
+    // =========================================================================
+    // 2. TEST DE CLASES CONTRA PERMUTACIONES EXPLÍCITAS
+    // =========================================================================
+    @Test
+    public void testClasesExactas() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        int[][] historias = {
+                {},
+                {PackedScorer.pack(new int[]{0, 0, 1, 1})},
+                {PackedScorer.pack(new int[]{0, 0, 1, 2})},
+                {PackedScorer.pack(new int[]{0, 0, 1, 1}), PackedScorer.pack(new int[]{2, 3, 1, 1})},
+        };
+        for (int[] historia : historias) {
+            GuessSymmetry simetria = GuessSymmetry.of(space);
+            for (int intento : historia) {
+                simetria = simetria.after(intento);
+            }
+            int[] esperados = lowestOfEachOrbit(space, historia);
+            assertArrayEquals(esperados, simetria.representatives(), historia.length + " intentos");
+        }
+    }
+
+    // =========================================================================
+    // 3. TEST DE MISMA JUGADA QUE SIN SIMETRÍA
+    // =========================================================================
+    @Test
+    public void testMismaJugadaQueSinSimetria() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        int secreto = PackedScorer.pack(new int[]{3, 5, 0, 0});
+        int intento = PackedScorer.pack(new int[]{0, 0, 1, 2});
+        int[] candidatos = new int[space.size()];
+        int count = 0;
+        for (int i = 0; i < space.size(); i++) {
+            if (PackedScorer.score(intento, space.codeAt(i), 4) == PackedScorer.score(intento, secreto, 4)) {
+                candidatos[count++] = i;
+            }
+        }
+        int[] pool = GuessSymmetry.of(space).after(intento).representatives();
+        assertTrue(pool.length < space.size() / 2, "Quedan " + pool.length + " jugadas");
+
+        for (GuessStrategy strategy : new GuessStrategy[]{new MinimaxStrategy(false), new ExpectedSizeStrategy(),
+                new EntropyHintStrategy(false)}) {
+            assertEquals(strategy.chooseGuess(space, candidatos, count),
+                    strategy.chooseGuess(space, candidatos, count, pool), strategy.name());
+        }
+    }
+
+    // =========================================================================
+    // 4. TEST DE SIMETRÍA AGOTADA
+    // =========================================================================
+    @Test
+    public void testSinSimetria() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        GuessSymmetry simetria = GuessSymmetry.of(space)
+                .after(PackedScorer.pack(new int[]{0, 1, 2, 3}))
+                .after(PackedScorer.pack(new int[]{4, 4, 5, 0}));
+
+        assertTrue(simetria.isTrivial());
+        assertNull(simetria.representatives(), "Cada código es su propia clase");
+    }
+
+    // Lowest index of each class, found by joining every code with its images
+    // under swaps of two unused colors or of two positions equal in every guess
+    private static int[] lowestOfEachOrbit(CodeSpace space, int[] history) {
+        int pegs = space.pegs();
+        int[] parent = new int[space.size()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        boolean[] used = new boolean[space.colors()];
+        for (int guess : history) {
+            for (int p = 0; p < pegs; p++) {
+                used[PackedScorer.peg(guess, p)] = true;
+            }
+        }
+        for (int i = 0; i < space.size(); i++) {
+            int code = space.codeAt(i);
+            for (int a = 0; a < space.colors(); a++) {
+                for (int b = a + 1; b < space.colors(); b++) {
+                    if (!used[a] && !used[b]) {
+                        int[] pegsOf = unpack(code, pegs);
+                        for (int p = 0; p < pegs; p++) {
+                            pegsOf[p] = pegsOf[p] == a ? b : pegsOf[p] == b ? a : pegsOf[p];
+                        }
+                        union(parent, i, space.indexOf(PackedScorer.pack(pegsOf)));
+                    }
+                }
+            }
+            for (int p = 0; p < pegs; p++) {
+                for (int q = p + 1; q < pegs; q++) {
+                    boolean equal = true;
+                    for (int guess : history) {
+                        equal &= PackedScorer.peg(guess, p) == PackedScorer.peg(guess, q);
+                    }
+                    if (equal) {
+                        int[] pegsOf = unpack(code, pegs);
+                        int t = pegsOf[p];
+                        pegsOf[p] = pegsOf[q];
+                        pegsOf[q] = t;
+                        union(parent, i, space.indexOf(PackedScorer.pack(pegsOf)));
+                    }
+                }
+            }
+        }
+        return IntStream.range(0, space.size()).filter(i -> find(parent, i) == i).toArray();
+    }
+
+    private static int[] unpack(int code, int pegs) {
+        int[] pegsOf = new int[pegs];
+        for (int p = 0; p < pegs; p++) {
+            pegsOf[p] = PackedScorer.peg(code, p);
+        }
+        return pegsOf;
+    }
+
+    // The root of a class is always its lowest index
+    private static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a);
+        int rb = find(parent, b);
+        parent[Math.max(ra, rb)] = Math.min(ra, rb);
+    }
+
+    private static int find(int[] parent, int a) {
+        while (parent[a] != a) {
+            a = parent[a];
+        }
+        return a;
+    }
+}
@@ -0,0 +1,30 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoadGeneratorTest {
+
+    // =========================================================================
+    // 1. TEST DE CARGA CONTRA EL SERVIDOR
+    // =========================================================================
+    @Test
+    public void testCargaContraServidor() throws Exception {
+        CodeSpace space = CodeSpace.of(6, 4);
+        try (GameServer server = new GameServer(space, GameServer.hexLabels(6), SecretGenerator.random(), 60_000)) {
+            int port = server.start(0);
+
+            LoadGenerator.Report report = LoadGenerator.run(InetAddress.getLoopbackAddress().getHostAddress(), port,
+                    space, 4, 25, 5);
+
+            assertEquals(500, report.requests(), "4 conexiones x 25 sesiones x 5 intentos");
+            assertTrue(report.percentileMicros(0.99) >= report.percentileMicros(0.50));
+            assertTrue(report.toString().contains("p99="));
+            assertEquals(0, server.activeSessions(), "Todas las sesiones se revelan al final");
+        }
+    }
+}
@@ -3,16 +3,13 @@ package com.mastermind;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.MouseEvent;
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -24,29 +21,22 @@ public class MasterMindUITest {
 
     private MasterMindUI ui;
     private JFrame frame;
-    private MockedStatic<JOptionPane> mockedJOptionPane;
 
-    // Listas para acceder a los componentes privados
-    private ArrayList<JButton[]> guessRows;
-    private ArrayList<JButton[]> pinRows;
+    // Tablero privado de la UI
+    private BoardComponent board;
 
     @BeforeEach
     void setUp() throws Exception {
         MockitoAnnotations.openMocks(this);
 
-        // 1. Mock JOptionPane en el Hilo Principal
-        mockedJOptionPane = mockStatic(JOptionPane.class);
-        mockedJOptionPane.when(() -> JOptionPane.showMessageDialog(any(), any()))
-                .thenAnswer(invocation -> null);
-
         Color[] colors = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW};
         String[] labels = {"R", "G", "B", "Y"};
         int rounds = 10;
 
-        // 2. Inicializar UI DIRECTAMENTE
+        // 1. Inicializar UI DIRECTAMENTE
         ui = new MasterMindUI(colors, labels, rounds, logicMock);
 
-        // 3. Ocultar la ventana para que no moleste visualmente
+        // 2. Ocultar la ventana para que no moleste visualmente
         Frame[] frames = Frame.getFrames();
         for (Frame f : frames) {
             if (f.isVisible() && f.getTitle().equals("MasterMind")) {
@@ -55,20 +45,13 @@ public class MasterMindUITest {
             }
         }
 
-        Field guessField = MasterMindUI.class.getDeclaredField("guessRows");
-        guessField.setAccessible(true);
-        guessRows = (ArrayList<JButton[]>) guessField.get(ui);
-
-        Field pinField = MasterMindUI.class.getDeclaredField("pinRows");
-        pinField.setAccessible(true);
-        pinRows = (ArrayList<JButton[]>) pinField.get(ui);
+        Field boardField = MasterMindUI.class.getDeclaredField("board");
+        boardField.setAccessible(true);
+        board = (BoardComponent) boardField.get(ui);
     }
 
     @AfterEach
     public void tearDown() {
-        if (mockedJOptionPane != null) {
-            mockedJOptionPane.close();
-        }
         if (frame != null) {
             frame.dispose();
         }
@@ -80,14 +63,13 @@ public class MasterMindUITest {
     @Test
     public void testPintarCirculoCorrectamente() throws Exception {
         JButton btnRojo = encontrarBotonPorTexto(frame, "R");
-        JButton slot = guessRows.get(0)[0];
 
-        assertNotEquals(Color.RED, obtenerColor(slot));
+        assertNotEquals(Color.RED, board.getSlotColor(0, 0));
 
-        btnRojo.doClick(); // Selecciona color
-        slot.doClick();    // Pinta círculo
+        btnRojo.doClick();     // Selecciona color
+        clicarCasilla(0, 0);   // Pinta círculo
 
-        assertEquals(Color.RED, obtenerColor(slot), "El círculo debe ser rojo tras el clic");
+        assertEquals(Color.RED, board.getSlotColor(0, 0), "El círculo debe ser rojo tras el clic");
     }
 
     // =========================================================================
@@ -95,19 +77,17 @@ public class MasterMindUITest {
     // =========================================================================
     @Test
     public void testNoPintaEnCondicionesInvalidas() throws Exception {
-        JButton slotFila0 = guessRows.get(0)[0];
-        JButton slotFila1 = guessRows.get(1)[0];
         JButton btnRojo = encontrarBotonPorTexto(frame, "R");
 
         // Caso A: Click sin seleccionar color
-        slotFila0.doClick();
-        assertNotEquals(Color.RED, obtenerColor(slotFila0), "No debe pintar sin color seleccionado");
+        clicarCasilla(0, 0);
+        assertNotEquals(Color.RED, board.getSlotColor(0, 0), "No debe pintar sin color seleccionado");
 
         // Caso B: Click en fila incorrecta
         btnRojo.doClick(); // Seleccionamos rojo
-        slotFila1.doClick(); // Click en fila 1 (la activa es la 0)
+        clicarCasilla(1, 0); // Click en fila 1 (la activa es la 0)
 
-        assertNotEquals(Color.RED, obtenerColor(slotFila1), "No debe pintar en fila inactiva");
+        assertNotEquals(Color.RED, board.getSlotColor(1, 0), "No debe pintar en fila inactiva");
     }
 
     // =========================================================================
@@ -120,7 +100,7 @@ public class MasterMindUITest {
 
         // Pintar solo 1 círculo
         btnRojo.doClick();
-        guessRows.get(0)[0].doClick();
+        clicarCasilla(0, 0);
 
         // Click Check
         btnCheck.doClick();
@@ -158,10 +138,12 @@ public class MasterMindUITest {
     public void testPerderJuegoEnUltimoTurno() throws Exception {
         JButton btnCheck = encontrarBotonPorTexto(frame, "Check");
 
-        // Forzar turno 9 usando Reflection
-        Field currentRowField = MasterMindUI.class.getDeclaredField("currentRow");
-        currentRowField.setAccessible(true);
-        currentRowField.set(ui, 9);
+        // Avanzar hasta el turno 9 con el modelo, sin pasar por la interfaz
+        GameModel modelo = leerModelo();
+        for (int fila = 0; fila < 9; fila++) {
+            assertTrue(modelo.applyGuess(PackedScorer.pack(new int[]{1, 1, 1, 1}), PackedScorer.result(0, 0)),
+                    "Fila " + fila);
+        }
 
         rellenarFila(9, Color.RED);
 
@@ -188,14 +170,101 @@ public class MasterMindUITest {
         when(logicMock.checkGuess(any())).thenReturn(new MasterMindLogic.Result(1, 1));
 
         btnCheck.doClick();
+        esperarEvaluacion();
 
         // Verificar mensaje informativo
         verificarMensajeContiene("Black: 1. White: 1");
 
         // Verificar Pines Visualmente
-        JButton[] pines = pinRows.get(0);
-        assertEquals(Color.BLACK, obtenerColor(pines[0]));
-        assertEquals(Color.WHITE, obtenerColor(pines[1]));
+        assertEquals(Color.BLACK, board.getPinColor(0, 0));
+        assertEquals(Color.WHITE, board.getPinColor(0, 1));
+    }
+
+    // =========================================================================
+    // 7. TEST: CÓDIGOS AÚN POSIBLES
+    // =========================================================================
+    @Test
+    public void testContadorDeCodigosPosibles() throws Exception {
+        JButton btnCheck = encontrarBotonPorTexto(frame, "Check");
+        rellenarFila(0, Color.RED);
+
+        // Mock: ningún acierto con RRRR -> quedan 3^4 códigos sin rojo
+        when(logicMock.checkGuess(any())).thenReturn(new MasterMindLogic.Result(0, 0));
+
+        btnCheck.doClick();
+        esperarEvaluacion();
+
+        assertEquals("81 codes still possible", leerEtiqueta("possibleLabel"));
+    }
+
+    // =========================================================================
+    // 8. TEST: EDITAR LA FILA CANCELA LA COMPROBACIÓN EN CURSO
+    // =========================================================================
+    @Test
+    public void testEditarFilaCancelaComprobacion() throws Exception {
+        JButton btnCheck = encontrarBotonPorTexto(frame, "Check");
+        rellenarFila(0, Color.RED);
+
+        // La lógica no responde hasta que se libera el cerrojo
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(logicMock.checkGuess(any())).thenAnswer(invocation -> {
+            liberar.await();
+            return new MasterMindLogic.Result(1, 1);
+        });
+
+        btnCheck.doClick();
+        assertEquals("Checking...", leerEtiqueta("statusLabel"), "La UI no se bloquea mientras se comprueba");
+
+        clicarCasilla(0, 0); // El jugador edita la fila
+        liberar.countDown();
+        esperarEvaluacion();
+
+        assertNotEquals(Color.BLACK, board.getPinColor(0, 0), "El resultado cancelado no se pinta");
+        assertEquals(0, leerModelo().currentRow(), "La fila sigue activa");
+    }
+
+    // =========================================================================
+    // 9. TEST: PISTA CALCULADA EN SEGUNDO PLANO
+    // =========================================================================
+    @Test
+    public void testPista() throws Exception {
+        JButton btnPista = encontrarBotonPorTexto(frame, "Hint");
+
+        btnPista.doClick();
+        esperarEvaluacion();
+
+        assertTrue(leerEtiqueta("statusLabel").matches("Hint: [RGBY]{4}"), leerEtiqueta("statusLabel"));
+    }
+
+    // =========================================================================
+    // 10. TEST: ARRANQUE RÁPIDO (TABLERO PRIMERO, CONTROLES DESPUÉS)
+    // =========================================================================
+    @Test
+    public void testArranqueRapidoAnadeControlesDespues() throws Exception {
+        Color[] colors = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW};
+        String[] labels = {"R", "G", "B", "Y"};
+        JFrame[] ventana = new JFrame[1];
+        boolean[] sinControles = new boolean[1];
+
+        SwingUtilities.invokeAndWait(() -> {
+            new MasterMindUI(new Variant(4, 4, 10, true), colors, labels, logicMock, true);
+            for (Frame f : Frame.getFrames()) {
+                if (f.isVisible() && f.getTitle().equals("MasterMind")) {
+                    ventana[0] = (JFrame) f;
+                }
+            }
+            sinControles[0] = encontrarBotonPorTexto(ventana[0], "Check") == null;
+        });
+        // El siguiente turno del EDT construye los controles
+        SwingUtilities.invokeAndWait(() -> { });
+
+        try {
+            assertTrue(sinControles[0], "La ventana se muestra antes de crear los botones");
+            assertNotNull(encontrarBotonPorTexto(ventana[0], "Check"));
+            assertNotNull(encontrarBotonPorTexto(ventana[0], "R"));
+        } finally {
+            ventana[0].dispose();
+        }
     }
 
 
@@ -208,28 +277,43 @@ public class MasterMindUITest {
         JButton btnColor = encontrarBotonPorTexto(frame, texto);
         if (btnColor != null) btnColor.doClick();
 
-        JButton[] fila = guessRows.get(filaIndex);
-        for (JButton slot : fila) {
-            slot.doClick();
+        for (int slot = 0; slot < board.pegs(); slot++) {
+            clicarCasilla(filaIndex, slot);
         }
     }
 
-    // Captura TODOS los mensajes y busca si alguno coincide
-    private void verificarMensajeContiene(String textoEsperado) {
-        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
-        mockedJOptionPane.verify(() -> JOptionPane.showMessageDialog(any(), captor.capture()), atLeast(1));
+    // Simula un clic del ratón en el centro de una casilla del tablero
+    private void clicarCasilla(int fila, int casilla) {
+        Rectangle r = board.slotBounds(fila, casilla);
+        board.dispatchEvent(new MouseEvent(board, MouseEvent.MOUSE_RELEASED, System.currentTimeMillis(), 0,
+                r.x + r.width / 2, r.y + r.height / 2, 1, false));
+    }
+
+    // Espera a que el hilo de fondo termine y a que sus resultados lleguen al EDT
+    private void esperarEvaluacion() throws Exception {
+        Field evaluatorField = MasterMindUI.class.getDeclaredField("EVALUATOR");
+        evaluatorField.setAccessible(true);
+        ((GuessEvaluator) evaluatorField.get(ui)).awaitIdle();
+        SwingUtilities.invokeAndWait(() -> { });
+    }
 
-        List<Object> todosLosMensajes = captor.getAllValues();
-        boolean encontrado = todosLosMensajes.stream()
-                .map(Object::toString)
-                .anyMatch(msg -> msg.contains(textoEsperado));
+    private GameModel leerModelo() throws Exception {
+        Field modelField = MasterMindUI.class.getDeclaredField("MODEL");
+        modelField.setAccessible(true);
+        return (GameModel) modelField.get(ui);
+    }
 
-        assertTrue(encontrado, "Se esperaba mensaje con: '" + textoEsperado + "'. Mensajes recibidos: " + todosLosMensajes);
+    private String leerEtiqueta(String campo) throws Exception {
+        Field labelField = MasterMindUI.class.getDeclaredField(campo);
+        labelField.setAccessible(true);
+        return ((JLabel) labelField.get(ui)).getText();
     }
 
-    private Color obtenerColor(JButton circulo) throws Exception {
-        Method getColorMethod = circulo.getClass().getMethod("getColor");
-        return (Color) getColorMethod.invoke(circulo);
+    // Comprueba el mensaje de estado mostrado en línea
+    private void verificarMensajeContiene(String textoEsperado) throws Exception {
+        esperarEvaluacion();
+        String mensaje = leerEtiqueta("statusLabel");
+        assertTrue(mensaje.contains(textoEsperado), "Se esperaba mensaje con: '" + textoEsperado + "'. Mensaje: " + mensaje);
     }
 
     private JButton encontrarBotonPorTexto(Container container, String texto) {
@@ -0,0 +1,53 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MinimaxStrategyTest {
+
+    private static int[] todos(CodeSpace space) {
+        int[] candidates = new int[space.size()];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = i;
+        }
+        return candidates;
+    }
+
+    // =========================================================================
+    // 1. TEST DEL PRIMER INTENTO (tipo 1122 de Knuth, peor caso 256)
+    // =========================================================================
+    @Test
+    public void testPrimerIntentoDeKnuth() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        int[] candidates = todos(space);
+
+        int guess = new MinimaxStrategy().chooseGuess(space, candidates, candidates.length);
+
+        assertEquals(PackedScorer.pack(new int[]{1, 1, 0, 0}), space.codeAt(guess));
+        assertEquals(256, MinimaxStrategy.worstCase(space, guess, candidates, candidates.length));
+    }
+
+    // =========================================================================
+    // 2. TEST PARALELO == SECUENCIAL
+    // =========================================================================
+    @Test
+    public void testParaleloIgualQueSecuencial() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        int[] candidates = new int[space.size()];
+        int count = 0;
+        for (int i = 0; i < space.size(); i += 5) {
+            candidates[count++] = i;
+        }
+
+        assertEquals(new MinimaxStrategy(false).chooseGuess(space, candidates, count),
+                new MinimaxStrategy(true).chooseGuess(space, candidates, count));
+    }
+
+    @Test
+    public void testUnSoloCandidato() {
+        CodeSpace space = CodeSpace.of(6, 4);
+
+        assertEquals(42, new MinimaxStrategy().chooseGuess(space, new int[]{42}, 1));
+    }
+}
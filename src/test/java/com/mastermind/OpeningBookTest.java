@@ -0,0 +1,95 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OpeningBookTest {
+
+    // =========================================================================
+    // 1. TEST DEL LIBRO INCLUIDO
+    // =========================================================================
+    @Test
+    public void testLibroIncluidoCoincideConMinimax() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        OpeningBook incluido = OpeningBook.forSpace(space);
+        OpeningBook calculado = OpeningBook.compute(space, new MinimaxStrategy(false));
+
+        assertNotNull(incluido, "El libro 6x4 viaja como recurso");
+        assertSame(incluido, OpeningBook.forSpace(space), "Se carga una sola vez");
+        assertEquals(PackedScorer.pack(new int[]{1, 1, 0, 0}), space.codeAt(incluido.first()));
+        assertEquals(calculado.first(), incluido.first());
+        assertEquals(calculado.entries(), incluido.entries());
+        for (int score = 0; score < MinimaxStrategy.histogramSize(space); score++) {
+            assertEquals(calculado.second(score), incluido.second(score), "Segunda jugada tras " + score);
+        }
+        assertNull(OpeningBook.forSpace(CodeSpace.of(3, 2)), "Sin libro para espacios no incluidos");
+    }
+
+    // =========================================================================
+    // 2. TEST DE CONSULTA
+    // =========================================================================
+    @Test
+    public void testConsulta() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        OpeningBook book = OpeningBook.forSpace(space);
+        int fallo = PackedScorer.result(0, 0);
+
+        assertEquals(book.first(), book.lookup(0, -1, 0));
+        assertEquals(book.second(fallo), book.lookup(1, book.first(), fallo));
+        assertEquals(-1, book.lookup(1, book.first() + 1, fallo), "Otra primera jugada no está en el libro");
+        assertEquals(-1, book.lookup(2, book.first(), fallo));
+        assertEquals(-1, book.second(PackedScorer.result(4, 0)), "Tras ganar no hay segunda jugada");
+        assertEquals(-1, book.second(PackedScorer.result(3, 1)), "Puntuación imposible");
+    }
+
+    // =========================================================================
+    // 3. TEST DE FORMATO BINARIO
+    // =========================================================================
+    @Test
+    public void testEscribirYLeer() throws IOException {
+        CodeSpace space = CodeSpace.of(4, 3);
+        OpeningBook book = OpeningBook.compute(space, new MinimaxStrategy(false));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        book.write(bytes);
+
+        assertEquals(12 + 5 * book.entries(), bytes.size(), "Cabecera de 12 bytes y 5 por entrada");
+        OpeningBook leido = OpeningBook.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertSame(space, leido.space());
+        assertEquals(book.first(), leido.first());
+        for (int score = 0; score < MinimaxStrategy.histogramSize(space); score++) {
+            assertEquals(book.second(score), leido.second(score));
+        }
+
+        byte[] truncado = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+        assertThrows(IOException.class, () -> OpeningBook.read(new ByteArrayInputStream(truncado)));
+        assertThrows(IOException.class, () -> OpeningBook.read(new ByteArrayInputStream(new byte[3])));
+    }
+
+    // =========================================================================
+    // 4. TEST DEL SOLVER CON LIBRO
+    // =========================================================================
+    @Test
+    public void testSolverUsaElLibro() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        OpeningBook book = OpeningBook.forSpace(space);
+        Solver solver = new Solver(space, new MinimaxStrategy(false));
+
+        assertEquals(book.first(), solver.nextGuess());
+        int secret = space.indexOf(PackedScorer.pack(new int[]{5, 4, 3, 2}));
+        int score = ScoreTable.forSpace(space).score(book.first(), secret);
+        solver.feedback(book.first(), score);
+        assertEquals(book.second(score), solver.nextGuess());
+        assertTrue(solver.solve(secret, 10) <= 5);
+    }
+}
@@ -0,0 +1,84 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PackedScorerTest {
+
+    // =========================================================================
+    // 1. TEST DE EMPAQUETADO
+    // =========================================================================
+    @Test
+    public void testPackYPeg() {
+        int code = PackedScorer.pack(new int[]{1, 2, 3, 5});
+
+        assertEquals(0x5321, code, "Cada ficha ocupa un nibble, la primera en el más bajo");
+        assertEquals(1, PackedScorer.peg(code, 0));
+        assertEquals(5, PackedScorer.peg(code, 3));
+        assertTrue(PackedScorer.supports(6, 4));
+        assertFalse(PackedScorer.supports(17, 4), "Más de 16 colores no cabe en un nibble");
+        assertFalse(PackedScorer.supports(6, 9), "Más de 8 fichas no cabe en un int");
+    }
+
+    // =========================================================================
+    // 2. TEST DE PUNTUACIÓN
+    // =========================================================================
+    @Test
+    public void testScore_NegrasYBlancas() {
+        int secret = PackedScorer.pack(new int[]{0, 0, 1, 2});
+        int guess = PackedScorer.pack(new int[]{0, 1, 0, 3});
+
+        int score = PackedScorer.score(guess, secret, 4);
+
+        assertEquals(1, PackedScorer.blacksOf(score), "Debe haber 1 negra");
+        assertEquals(2, PackedScorer.whitesOf(score), "Deben haber 2 blancas");
+    }
+
+    @Test
+    public void testScore_ColoresRepetidos() {
+        int secret = PackedScorer.pack(new int[]{0, 2});
+        int guess = PackedScorer.pack(new int[]{0, 0});
+
+        int score = PackedScorer.score(guess, secret, 2);
+
+        assertEquals(PackedScorer.result(1, 0), score, "Una negra y ninguna blanca");
+    }
+
+    @Test
+    public void testScore_OchoFichasQuinceColores() {
+        int secret = PackedScorer.pack(new int[]{15, 14, 13, 12, 11, 10, 9, 8});
+
+        assertEquals(PackedScorer.result(8, 0), PackedScorer.score(secret, secret, 8));
+    }
+
+    // =========================================================================
+    // 3. TEST DEL ADAPTADOR DE COLORES
+    // =========================================================================
+    @Test
+    public void testCheckGuess_CodigosGrandesSinEmpaquetar() {
+        Color[] palette = {Color.RED, Color.GREEN};
+        MasterMindLogic logic = new MasterMindLogic(palette, 9, new String[]{"R", "G"}) {
+            @Override
+            public Color[] generateSecret(int secretLength) {
+                Color[] secret = new Color[secretLength];
+                java.util.Arrays.fill(secret, Color.RED);
+                secret[0] = Color.GREEN;
+                return secret;
+            }
+        };
+        Color[] guess = new Color[9];
+        java.util.Arrays.fill(guess, Color.RED);
+        guess[1] = Color.GREEN;
+
+        MasterMindLogic.Result result = logic.checkGuess(guess);
+
+        assertFalse(logic.isPacked());
+        assertEquals(7, result.blacks, "Deben haber 7 negras");
+        assertEquals(2, result.whites, "Deben haber 2 blancas");
+    }
+}
@@ -0,0 +1,145 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PaletteTest {
+
+    private static final Color[] COLORES = {
+            new Color(240, 17, 17), new Color(104, 227, 70), new Color(45, 64, 189),
+            new Color(191, 83, 40), new Color(242, 135, 34), new Color(204, 94, 235)
+    };
+    private static final String[] ETIQUETAS = {"R", "V", "A", "M", "N", "L"};
+
+    // =========================================================================
+    // 1. TEST DE ÍNDICES POR VALOR
+    // =========================================================================
+    @Test
+    public void testColoresIgualesDistintaInstancia() {
+        Palette palette = new Palette(COLORES, ETIQUETAS);
+
+        for (int i = 0; i < COLORES.length; i++) {
+            Color copia = new Color(COLORES[i].getRGB());
+            assertEquals(i, palette.indexOf(copia), "Se compara por valor, no por referencia");
+            assertEquals(i, palette.indexOf(ETIQUETAS[i].charAt(0)));
+        }
+        assertEquals(-1, palette.indexOf(Color.BLACK));
+        assertEquals(-1, palette.indexOf('X'));
+        assertEquals(-1, palette.indexOf('ñ'));
+    }
+
+    @Test
+    public void testLogicaConColoresCopiados() {
+        Color[] secreto = {COLORES[0], COLORES[1], COLORES[5], COLORES[0]};
+        MasterMindLogic logic = new MasterMindLogic(COLORES, 4, ETIQUETAS) {
+            @Override
+            public Color[] generateSecret(int secretLength) {
+                return secreto;
+            }
+        };
+        Color[] copia = new Color[4];
+        for (int i = 0; i < 4; i++) {
+            copia[i] = new Color(secreto[i].getRGB());
+        }
+
+        assertEquals(4, logic.checkGuess(copia).blacks, "Colores iguales pero no idénticos también aciertan");
+        assertEquals("RVLR", logic.showSecret());
+    }
+
+    // =========================================================================
+    // 2. TEST DE CODIFICACIÓN
+    // =========================================================================
+    @Test
+    public void testCodificarYDecodificar() {
+        Palette palette = new Palette(COLORES, ETIQUETAS);
+        Color[] code = {COLORES[0], COLORES[1], COLORES[5], COLORES[0]};
+
+        int packed = palette.encode(code);
+        assertEquals(PackedScorer.pack(new int[]{0, 1, 5, 0}), packed);
+        assertArrayEquals(code, palette.decode(packed, 4));
+        assertEquals("RVLR", palette.format(packed, 4));
+        assertEquals("RVLR", palette.format(code));
+        assertEquals(packed, palette.parse("RVLR", 4));
+        assertEquals(-1, palette.parse("RVL", 4), "Longitud incorrecta");
+        assertEquals(-1, palette.parse("RVXR", 4), "Etiqueta desconocida");
+        assertThrows(IllegalArgumentException.class, () -> palette.encode(new Color[]{Color.BLACK}));
+    }
+
+    @Test
+    public void testLotes() {
+        Palette palette = new Palette(COLORES, ETIQUETAS);
+        int[] codes = new int[4];
+
+        int count = palette.parseAll("RVLR  AAAA\nMNLR\t", 4, codes);
+
+        assertEquals(3, count);
+        assertEquals("RVLR AAAA MNLR", palette.formatAll(new StringBuilder(), codes, count, 4).toString());
+        assertThrows(IllegalArgumentException.class, () -> palette.parseAll("RVLR RV", 4, codes));
+    }
+
+    // =========================================================================
+    // 3. TEST DE VALIDACIÓN
+    // =========================================================================
+    @Test
+    public void testPaletasInvalidas() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new Palette(new Color[]{Color.RED, new Color(255, 0, 0)}, new String[]{"R", "S"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Palette(new Color[]{Color.RED, Color.BLUE}, new String[]{"R", "R"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Palette(new Color[]{Color.RED}, new String[]{""}));
+    }
+
+    @Test
+    public void testPaletaHexadecimal() {
+        Palette palette = Palette.hex(16);
+
+        assertEquals(16, palette.size());
+        assertEquals("F", palette.label(15));
+        assertEquals(15, palette.indexOf(palette.color(15)), "Los 16 tonos son distintos");
+    }
+
+    // =========================================================================
+    // 4. TEST DE PALETAS GRANDES Y ETIQUETAS DE VARIOS CARACTERES
+    // =========================================================================
+    @Test
+    public void testPaletaDeMasDe16Colores() {
+        Color[] colores = new Color[20];
+        String[] etiquetas = new String[20];
+        for (int i = 0; i < 20; i++) {
+            colores[i] = new Color(i * 12, 255 - i * 12, 100);
+            etiquetas[i] = "C" + i;
+        }
+        Palette palette = new Palette(colores, etiquetas);
+
+        assertEquals(19, palette.indexOf(new Color(19 * 12, 255 - 19 * 12, 100)));
+        assertEquals(17, palette.indexOf("C17"));
+        assertEquals(-1, palette.indexOf('C'));
+        Color[] code = {colores[19], colores[0], colores[16]};
+        assertArrayEquals(new int[]{19, 0, 16}, palette.indicesOf(code));
+        assertEquals("C19C0C16", palette.format(code));
+        assertFalse(palette.packs(3), "Más de 16 colores no caben en un nibble");
+        assertThrows(IllegalStateException.class, () -> palette.encode(code));
+        assertEquals(-1, palette.parse("C1C2C3", 3));
+
+        // La lógica usa la evaluación genérica con arrays de índices
+        Color[] secreto = {colores[18], colores[18], colores[3], colores[0]};
+        MasterMindLogic logic = new MasterMindLogic(colores, 4, etiquetas) {
+            @Override
+            public Color[] generateSecret(int secretLength) {
+                return secreto;
+            }
+        };
+        assertFalse(logic.isPacked());
+        MasterMindLogic.Result result = logic.checkGuess(new Color[]{colores[18], colores[3], colores[18], colores[5]});
+        assertEquals(1, result.blacks);
+        assertEquals(2, result.whites);
+        assertEquals("C18C18C3C0", logic.showSecret());
+    }
+}
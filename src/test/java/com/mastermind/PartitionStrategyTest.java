@@ -0,0 +1,61 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionStrategyTest {
+
+    private static int[] todos(CodeSpace space) {
+        int[] all = new int[space.size()];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i;
+        }
+        return all;
+    }
+
+    // =========================================================================
+    // 1. TEST DE COSTES
+    // =========================================================================
+    @Test
+    public void testCostes() {
+        int[] equilibrado = {2, 2, 2, 2};
+        int[] desequilibrado = {5, 1, 1, 1};
+
+        assertTrue(new MaxEntropyStrategy().cost(equilibrado, 8) < new MaxEntropyStrategy().cost(desequilibrado, 8));
+        assertEquals(16, new ExpectedSizeStrategy().cost(equilibrado, 8));
+        assertEquals(28, new ExpectedSizeStrategy().cost(desequilibrado, 8));
+    }
+
+    // =========================================================================
+    // 2. TEST DE PRIMERA JUGADA EN 6x4
+    // =========================================================================
+    @Test
+    public void testPrimeraJugada() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        int[] all = todos(space);
+
+        // Ambas prefieren una jugada con tres colores distintos (p.ej. 1123 o 1234)
+        for (GuessStrategy strategy : new GuessStrategy[]{new MaxEntropyStrategy(), new ExpectedSizeStrategy()}) {
+            int code = space.codeAt(strategy.chooseGuess(space, all, all.length));
+            int colores = 0;
+            for (int i = 0; i < 4; i++) {
+                colores |= 1 << PackedScorer.peg(code, i);
+            }
+            int distintos = Integer.bitCount(colores);
+            assertTrue(distintos >= 3, strategy.name() + " eligió " + Integer.toHexString(code));
+        }
+    }
+
+    @Test
+    public void testPocosCandidatosYNombres() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        int[] dos = {7, 300};
+
+        assertEquals(7, new MaxEntropyStrategy().chooseGuess(space, dos, 2));
+        assertEquals(7, new ExpectedSizeStrategy().chooseGuess(space, dos, 2));
+        assertEquals("entropy", GuessStrategy.named("entropy").name());
+        assertEquals("expected", GuessStrategy.named("expected").name());
+    }
+}
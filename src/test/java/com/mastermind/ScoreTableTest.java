@@ -0,0 +1,59 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScoreTableTest {
+
+    // =========================================================================
+    // 1. TEST DE CONSTRUCCIÓN
+    // =========================================================================
+    @Test
+    public void testTablaCoincideConPuntuacionDirecta() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        ScoreTable serial = ScoreTable.build(space, false);
+        ScoreTable parallel = ScoreTable.build(space, true);
+
+        for (int g = 0; g < space.size(); g += 7) {
+            for (int s = 0; s < space.size(); s++) {
+                int expected = PackedScorer.score(space.codeAt(g), space.codeAt(s), 4);
+                assertEquals(expected, serial.score(g, s));
+                assertEquals(expected, parallel.score(g, s));
+            }
+        }
+    }
+
+    // =========================================================================
+    // 2. TEST DEL LÍMITE DE MEMORIA
+    // =========================================================================
+    @Test
+    public void testLimiteDeMemoria() {
+        assertTrue(ScoreTable.fits(CodeSpace.of(6, 4), ScoreTable.DEFAULT_MAX_BYTES));
+        assertFalse(ScoreTable.fits(CodeSpace.of(8, 5), ScoreTable.DEFAULT_MAX_BYTES), "8x5 ocupa más de 1 GB");
+        assertNull(ScoreTable.forSpace(CodeSpace.of(8, 5)), "Sin tabla si supera el límite");
+    }
+
+    // =========================================================================
+    // 3. TEST DE LA TABLA COMPARTIDA DESDE LA LÓGICA
+    // =========================================================================
+    @Test
+    public void testTablaCompartidaDesdeLogica() {
+        Color[] palette = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW};
+        MasterMindLogic logic = new MasterMindLogic(palette, 3, new String[]{"R", "G", "B", "Y"});
+
+        ScoreTable table = logic.getScoreTable();
+
+        assertNotNull(table);
+        assertSame(table, new MasterMindLogic(palette, 3, new String[]{"R", "G", "B", "Y"}).getScoreTable(),
+                "La tabla se construye una sola vez por configuración");
+        assertEquals(64, table.space().size());
+    }
+}
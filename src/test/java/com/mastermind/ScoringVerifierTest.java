@@ -0,0 +1,63 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScoringVerifierTest {
+
+    // =========================================================================
+    // 1. TEST DE TODOS LOS MOTORES CONTRA LA REFERENCIA
+    // =========================================================================
+    @Test
+    public void testMotoresCoincidenConReferencia() {
+        CodeSpace space = CodeSpace.of(5, 4);
+        Map<String, ScoringVerifier.Engine> motores = ScoringVerifier.engines(space);
+        assertEquals(8, motores.size(), "El tablero 5x4 tiene tabla de resultados");
+        assertTrue(motores.containsKey("check-guess") && motores.containsKey("check-guess-generic"),
+                "checkGuess se comprueba por la tabla y por el camino genérico");
+
+        ScoringVerifier.Report report = ScoringVerifier.verify(space, motores);
+        assertEquals(625L * 625, report.pairs());
+        assertEquals(0, report.mismatches(), () -> String.join("\n", report.examples()));
+        assertTrue(report.examples().isEmpty());
+    }
+
+    // =========================================================================
+    // 2. TEST DE UN MOTOR ROTO: SE INFORMA CON LOS CÓDIGOS EXACTOS
+    // =========================================================================
+    @Test
+    public void testMotorRotoSeInforma() {
+        CodeSpace space = CodeSpace.of(3, 2);
+        int[] codes = space.codes();
+        Map<String, ScoringVerifier.Engine> motores = new LinkedHashMap<>();
+        // Cuenta como blanca cada clavija que aparece en el secreto, aunque esté repetida
+        motores.put("roto", (guess, out) -> {
+            for (int s = 0; s < codes.length; s++) {
+                int blacks = PackedScorer.blacks(codes[guess], codes[s], 2);
+                int whites = 0;
+                for (int p = 0; p < 2; p++) {
+                    int color = PackedScorer.peg(codes[guess], p);
+                    if (color != PackedScorer.peg(codes[s], p)
+                            && (PackedScorer.peg(codes[s], 0) == color || PackedScorer.peg(codes[s], 1) == color)) {
+                        whites++;
+                    }
+                }
+                out[s] = PackedScorer.result(blacks, whites);
+            }
+        });
+
+        ScoringVerifier.Report report = ScoringVerifier.verify(space, motores);
+        // AA contra BA: una negra; el motor roto suma además una blanca
+        assertTrue(report.mismatches() > 0);
+        assertTrue(report.examples().size() <= 20, "Solo se guardan los primeros ejemplos");
+        assertTrue(report.examples().contains("roto guess=AA secret=BA expected=1/0 got=1/1"),
+                () -> String.join("\n", report.examples()));
+        assertTrue(report.toString().startsWith("3x2: 81 pairs x [roto] engines, " + report.mismatches()
+                + " mismatches"));
+    }
+}
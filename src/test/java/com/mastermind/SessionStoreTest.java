@@ -0,0 +1,122 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SessionStoreTest {
+
+    private static final CodeSpace SPACE = CodeSpace.of(6, 4);
+
+    @TempDir
+    Path dir;
+
+    // =========================================================================
+    // 1. TEST DE GUARDAR Y RESTAURAR
+    // =========================================================================
+    @Test
+    public void testRestauraSesionesAbiertas() throws Exception {
+        Path file = dir.resolve("sessions.mmss");
+        int secreto = PackedScorer.pack(new int[]{1, 2, 3, 4});
+        int intento = PackedScorer.pack(new int[]{0, 0, 1, 1});
+        try (SessionStore store = new SessionStore(file, SPACE)) {
+            GameSession abierta = new GameSession(SPACE, secreto);
+            store.started(7, abierta);
+            store.guessed(7, intento);
+            abierta.guess(intento);
+            store.guessed(7, secreto);
+            abierta.guess(secreto);
+
+            store.started(8, new GameSession(SPACE, intento));
+            store.ended(8);
+        }
+        // 8 de cabecera + 3 registros de 11 bytes (tipo, id, código) + 11 del inicio de la 8 + 9 del fin
+        assertEquals(8 + 3 * 11 + 11 + 9, Files.size(file), "Cada intento añade solo su delta");
+
+        try (SessionStore store = new SessionStore(file, SPACE)) {
+            Map<Long, GameSession> sesiones = store.sessions();
+            assertEquals(1, sesiones.size(), "La sesión terminada no vuelve");
+            GameSession restaurada = sesiones.get(7L);
+            assertEquals(secreto, restaurada.secret());
+            assertEquals(2, restaurada.guesses());
+            assertEquals(intento, restaurada.guessAt(0));
+            assertTrue(restaurada.isSolved());
+            assertEquals(8, store.maxId(), "El id más alto incluye las sesiones terminadas");
+        }
+    }
+
+    // =========================================================================
+    // 2. TEST DE REGISTRO CORTADO POR UN FALLO
+    // =========================================================================
+    @Test
+    public void testDescartaRegistroIncompleto() throws Exception {
+        Path file = dir.resolve("sessions.mmss");
+        try (SessionStore store = new SessionStore(file, SPACE)) {
+            store.started(1, new GameSession(SPACE, 0));
+        }
+        long completo = Files.size(file);
+        // Simula una caída a mitad de escribir otro inicio de sesión
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{SessionStore.START, 2, 0, 0}));
+        }
+
+        try (SessionStore store = new SessionStore(file, SPACE)) {
+            assertEquals(1, store.sessions().size());
+            assertEquals(completo, Files.size(file), "El registro cortado se elimina");
+            store.started(2, new GameSession(SPACE, 5));
+        }
+        try (SessionStore store = new SessionStore(file, SPACE)) {
+            assertEquals(2, store.sessions().size(), "Se puede seguir escribiendo tras recortar");
+        }
+    }
+
+    // =========================================================================
+    // 3. TEST DE COMPACTACIÓN
+    // =========================================================================
+    @Test
+    public void testCompactaSesionesTerminadas() throws Exception {
+        Path file = dir.resolve("sessions.mmss");
+        try (SessionStore store = new SessionStore(file, SPACE)) {
+            // Suficientes sesiones terminadas para pasar de 1 MB
+            for (long id = 1; id <= 60_000; id++) {
+                store.started(id, new GameSession(SPACE, (int) (id % SPACE.size())));
+                if (id % 1000 != 0) {
+                    store.ended(id);
+                }
+            }
+            assertTrue(store.fileBytes() < 1 << 20, "El archivo se compacta solo: " + store.fileBytes());
+            store.compact();
+            assertEquals(8 + 60 * 11, store.fileBytes(), "Tras compactar solo quedan las sesiones vivas");
+        }
+        assertFalse(Files.exists(dir.resolve("sessions.mmss.compact")));
+
+        try (SessionStore store = new SessionStore(file, SPACE)) {
+            assertEquals(60, store.sessions().size());
+            assertTrue(store.sessions().containsKey(60_000L));
+            assertEquals(60_000, store.maxId());
+        }
+    }
+
+    // =========================================================================
+    // 4. TEST DE ARCHIVO DE OTRO TABLERO
+    // =========================================================================
+    @Test
+    public void testRechazaOtroTablero() throws Exception {
+        Path file = dir.resolve("sessions.mmss");
+        new SessionStore(file, SPACE).close();
+
+        assertThrows(IOException.class, () -> new SessionStore(file, CodeSpace.of(8, 4)));
+    }
+}
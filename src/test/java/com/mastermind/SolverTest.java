@@ -0,0 +1,102 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SolverTest {
+
+    // =========================================================================
+    // 1. TEST DE BARRIDO COMPLETO 6x4 (Knuth: como mucho 5 intentos)
+    // =========================================================================
+    @Test
+    public void testBarridoCompletoMinimax() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        Solver solver = new Solver(space, new MinimaxStrategy());
+
+        int total = 0;
+        int peor = 0;
+        for (int secret = 0; secret < space.size(); secret++) {
+            int guesses = solver.solve(secret, 10);
+            assertTrue(guesses > 0, "Debe resolver el secreto " + secret);
+            total += guesses;
+            peor = Math.max(peor, guesses);
+        }
+
+        assertTrue(peor <= 5, "Minimax resuelve 6x4 en 5 intentos como mucho, peor caso: " + peor);
+        assertTrue(total / (double) space.size() < 4.6, "Media esperada cercana a 4.48");
+    }
+
+    // =========================================================================
+    // 2. TEST DE FILTRADO DE CANDIDATOS
+    // =========================================================================
+    @Test
+    public void testFeedbackFiltraCandidatos() {
+        CodeSpace space = CodeSpace.of(4, 2);
+        Solver solver = new Solver(space, new MinimaxStrategy(false));
+
+        // Todo fallo con el código 0 (color 0 en ambas posiciones): quedan 3x3
+        solver.feedback(0, PackedScorer.result(0, 0));
+
+        assertEquals(9, solver.remaining());
+        assertEquals(1, solver.guesses());
+    }
+
+    @Test
+    public void testSinCandidatos() {
+        CodeSpace space = CodeSpace.of(4, 2);
+        Solver solver = new Solver(space, new MinimaxStrategy(false));
+
+        solver.feedback(0, PackedScorer.result(0, 0));
+        solver.feedback(5, PackedScorer.result(2, 0));
+        solver.feedback(10, PackedScorer.result(2, 0));
+
+        assertThrows(IllegalStateException.class, solver::nextGuess);
+    }
+
+    // =========================================================================
+    // 3. TEST DE MODO STREAMING (SIN LISTA DE CANDIDATOS)
+    // =========================================================================
+    @Test
+    public void testModoStreamingResuelve() {
+        CodeSpace space = CodeSpace.of(6, 5);
+        Solver solver = new Solver(space, new RandomConsistentStrategy(), true);
+
+        assertEquals(space.size(), solver.remaining(), "Antes de jugar todo es posible");
+        for (int secret = 0; secret < space.size(); secret += 1111) {
+            int guesses = solver.solve(secret, 12);
+            assertTrue(guesses > 0 && guesses <= 12, "Secreto " + secret + ": " + guesses);
+        }
+
+        solver.reset();
+        solver.feedback(0, PackedScorer.result(0, 0));
+        assertEquals(5 * 5 * 5 * 5 * 5, solver.remaining(), "El recuento sale del barrido completo");
+    }
+
+    // =========================================================================
+    // 4. TEST DE MINIMAX EN UN TABLERO QUE SE RECORRE EN STREAMING
+    // =========================================================================
+    @Test
+    public void testMinimaxEnStreaming() {
+        // Partidas completas con minimax en modo streaming sobre un tablero pequeño
+        CodeSpace pequeño = CodeSpace.of(6, 5);
+        Solver solver = new Solver(pequeño, new MinimaxStrategy(), 512);
+        for (int secret = 0; secret < pequeño.size(); secret += 1111) {
+            int guesses = solver.solve(secret, 12);
+            assertTrue(guesses > 0 && guesses <= 12, "Secreto " + secret + ": " + guesses);
+        }
+
+        // En un tablero que no cabe en memoria solo se prueban como jugadas los
+        // códigos de la muestra (aquí 256); probar los 19M del tablero no acabaría
+        CodeSpace space = CodeSpace.of(11, 7);
+        assertTrue(CandidateStream.isNeeded(space), "11x7 no cabe en una lista de candidatos");
+        Solver grande = new Solver(space, new MinimaxStrategy(), 256);
+        int guess = assertTimeoutPreemptively(Duration.ofSeconds(30), grande::nextGuess);
+        assertTrue(guess >= 0 && guess < space.size());
+    }
+}
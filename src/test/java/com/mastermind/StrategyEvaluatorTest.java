@@ -0,0 +1,67 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StrategyEvaluatorTest {
+
+    // =========================================================================
+    // 1. TEST DE MINIMAX EN 6x4 (Knuth: 5801 intentos en total, peor caso 5)
+    // =========================================================================
+    @Test
+    public void testMinimaxClasico() {
+        StrategyEvaluator.Report report = StrategyEvaluator.evaluate(CodeSpace.of(6, 4), new MinimaxStrategy(false), 10);
+
+        assertEquals(1296, report.stats().wins());
+        assertEquals(5, report.worstCase());
+        assertEquals(5801 / 1296.0, report.stats().averageGuesses(), 1e-9);
+        assertTrue(report.nodes() < 1296 * 2, "Cada prefijo común se decide una sola vez");
+    }
+
+    // =========================================================================
+    // 2. TEST: EL ÁRBOL COINCIDE CON JUGAR CADA SECRETO
+    // =========================================================================
+    @Test
+    public void testCoincideConElSolver() {
+        CodeSpace space = CodeSpace.of(4, 3);
+        for (GuessStrategy strategy : List.of(new MinimaxStrategy(false), new MaxEntropyStrategy(),
+                new ExpectedSizeStrategy())) {
+            StrategyEvaluator.Report report = StrategyEvaluator.evaluate(space, strategy, 10);
+            SimulationStats esperado = new SimulationStats(10);
+            Solver solver = new Solver(space, strategy);
+            for (int secret = 0; secret < space.size(); secret++) {
+                esperado.record(solver.solve(secret, 10));
+            }
+            for (int i = 1; i <= 10; i++) {
+                assertEquals(esperado.wonWith(i), report.stats().wonWith(i), strategy.name() + " con " + i);
+            }
+        }
+    }
+
+    // =========================================================================
+    // 3. TEST DE LÍMITE DE INTENTOS Y CSV
+    // =========================================================================
+    @Test
+    public void testPerdidasYCsv() throws IOException {
+        CodeSpace space = CodeSpace.of(6, 4);
+        StrategyEvaluator.Report corto = StrategyEvaluator.evaluate(space, new ExpectedSizeStrategy(), 3);
+        StrategyEvaluator.Report aleatorio = StrategyEvaluator.evaluate(space, new RandomConsistentStrategy(), 3);
+
+        assertEquals(1296, corto.stats().games());
+        assertTrue(corto.stats().wins() < 1296, "Con 3 intentos no se resuelve todo");
+        assertEquals(-1, corto.worstCase());
+
+        StringBuilder csv = new StringBuilder();
+        StrategyEvaluator.writeCsv(List.of(corto, aleatorio), csv);
+        String[] lines = csv.toString().split("\n");
+        assertEquals("strategy,colors,pegs,secrets,solved,worst,average,g1,g2,g3", lines[0]);
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].startsWith("expected,6,4,1296," + corto.stats().wins() + ",-1,"), lines[1]);
+        assertTrue(lines[2].startsWith("random,6,4,1296,"), lines[2]);
+    }
+}
@@ -0,0 +1,170 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TranspositionCacheTest {
+
+    // =========================================================================
+    // 1. TEST DE GUARDAR, BUSCAR Y CONTADORES
+    // =========================================================================
+    @Test
+    public void testGuardarYBuscar() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        TranspositionCache cache = new TranspositionCache(1024);
+        long inicio = TranspositionCache.start(space, "minimax");
+        long tras = TranspositionCache.extend(inicio, 7, PackedScorer.result(1, 2));
+
+        assertEquals(-1, cache.get(tras));
+        cache.put(tras, 123);
+        assertEquals(123, cache.get(tras));
+        assertEquals(-1, cache.get(inicio), "Otra historia es otra entrada");
+        assertNotEquals(tras, TranspositionCache.extend(inicio, 7, PackedScorer.result(2, 1)),
+                "El resultado forma parte de la clave");
+        assertNotEquals(inicio, TranspositionCache.start(space, "expected"),
+                "La estrategia forma parte de la clave");
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+        assertEquals(1024, cache.capacity());
+    }
+
+    // =========================================================================
+    // 2. TEST DE MEMORIA ACOTADA Y EXPULSIÓN CLOCK
+    // =========================================================================
+    @Test
+    public void testExpulsionClock() {
+        // Un solo grupo de 8 huecos: todas las claves compiten por él
+        TranspositionCache cache = new TranspositionCache(8);
+        assertEquals(8, cache.capacity());
+        for (long key = 0; key < 8; key++) {
+            cache.put(key << 32, (int) key);
+        }
+        cache.get(0);
+
+        cache.put(100L << 32, 100);
+        assertEquals(0, cache.get(0), "La entrada usada recibe una segunda oportunidad");
+        assertEquals(100, cache.get(100L << 32));
+        assertEquals(1, cache.evictions());
+
+        for (long key = 200; key < 1200; key++) {
+            cache.put(key << 32, (int) key);
+        }
+        int presentes = 0;
+        for (long key = 200; key < 1200; key++) {
+            presentes += cache.get(key << 32) >= 0 ? 1 : 0;
+        }
+        assertTrue(presentes <= 8, "Nunca más entradas que huecos: " + presentes);
+    }
+
+    // =========================================================================
+    // 3. TEST CONCURRENTE
+    // =========================================================================
+    @Test
+    public void testAccesoConcurrente() throws Exception {
+        TranspositionCache cache = new TranspositionCache(4096);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long seed = t;
+                tareas.add(pool.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    for (int i = 0; i < 200_000; i++) {
+                        long key = TranspositionCache.extend(0, random.nextInt(20_000), 0);
+                        int guess = cache.get(key);
+                        if (guess < 0) {
+                            cache.put(key, (int) (key & 0xFFFFFF));
+                        } else {
+                            // Nunca se lee una entrada a medias ni la de otra clave
+                            assertEquals(key & 0xFFFFFF, guess);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(800_000, cache.hits() + cache.misses());
+        assertTrue(cache.evictions() > 0);
+    }
+
+    // =========================================================================
+    // 4. TEST DE PARTIDAS IGUALES CON Y SIN CACHÉ
+    // =========================================================================
+    @Test
+    public void testMismasPartidasConCache() {
+        CodeSpace space = CodeSpace.of(6, 4);
+        TranspositionCache cache = new TranspositionCache(1 << 12);
+        Solver sinCache = new Solver(space, new ExpectedSizeStrategy());
+        Solver conCache = new Solver(space, new ExpectedSizeStrategy(), cache);
+
+        for (int secret = 0; secret < space.size(); secret += 7) {
+            assertEquals(sinCache.solve(secret, 10), conCache.solve(secret, 10), "Secreto " + secret);
+        }
+        long fallos = cache.misses();
+        for (int secret = 0; secret < space.size(); secret += 7) {
+            conCache.solve(secret, 10);
+        }
+        assertEquals(fallos, cache.misses(), "La segunda pasada son todo aciertos");
+
+        TranspositionCache aleatoria = new TranspositionCache(64);
+        new Solver(space, new RandomConsistentStrategy(), aleatoria).solve(0, 10);
+        assertEquals(0, aleatoria.hits() + aleatoria.misses(), "Las estrategias aleatorias no se guardan");
+    }
+
+    // =========================================================================
+    // 5. TEST DE UNA CACHÉ COMPARTIDA POR DOS ESTRATEGIAS
+    // =========================================================================
+    @Test
+    public void testCacheCompartidaEntreEstrategias() {
+        // 5x4 no tiene libro de aperturas: todas las jugadas pasan por la caché
+        CodeSpace space = CodeSpace.of(5, 4);
+        TranspositionCache cache = new TranspositionCache(1 << 12);
+        Solver minimax = new Solver(space, new MinimaxStrategy(false));
+        Solver esperado = new Solver(space, new ExpectedSizeStrategy());
+        Solver minimaxConCache = new Solver(space, new MinimaxStrategy(false), cache);
+        Solver esperadoConCache = new Solver(space, new ExpectedSizeStrategy(), cache);
+
+        // Las dos estrategias se alternan sobre la misma caché
+        for (int secret = 0; secret < space.size(); secret += 11) {
+            assertArrayEquals(jugadas(minimax, space, secret), jugadas(minimaxConCache, space, secret),
+                    "Minimax, secreto " + secret);
+            assertArrayEquals(jugadas(esperado, space, secret), jugadas(esperadoConCache, space, secret),
+                    "Expected, secreto " + secret);
+        }
+        assertTrue(cache.hits() > 0);
+    }
+
+    // Jugadas de una partida completa contra el secreto
+    private static int[] jugadas(Solver solver, CodeSpace space, int secret) {
+        int[] jugadas = new int[10];
+        int ganar = PackedScorer.result(space.pegs(), 0);
+        solver.reset();
+        for (int i = 0; i < jugadas.length; i++) {
+            int guess = solver.nextGuess();
+            int score = PackedScorer.score(space.codeAt(guess), space.codeAt(secret), space.pegs());
+            solver.feedback(guess, score);
+            jugadas[i] = guess;
+            if (score == ganar) {
+                return Arrays.copyOf(jugadas, i + 1);
+            }
+        }
+        return jugadas;
+    }
+}
@@ -0,0 +1,136 @@
+package com.mastermind;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VariantTest {
+
+    private static Color[] paleta(int size) {
+        Color[] palette = new Color[size];
+        for (int i = 0; i < size; i++) {
+            palette[i] = new Color(i * 12, 255 - i * 12, 128);
+        }
+        return palette;
+    }
+
+    private static String[] etiquetas(int size) {
+        String[] labels = new String[size];
+        for (int i = 0; i < size; i++) {
+            labels[i] = String.valueOf((char) ('A' + i));
+        }
+        return labels;
+    }
+
+    // =========================================================================
+    // 1. TEST DE REPRESENTACIÓN ELEGIDA
+    // =========================================================================
+    @Test
+    public void testRepresentacionSegunTamano() {
+        assertEquals(Variant.Representation.TABLE, Variant.classic().representation());
+        assertEquals(Variant.Representation.PACKED, new Variant(8, 6, 10, true).representation());
+        assertEquals(Variant.Representation.PACKED, new Variant(10, 8, 12, false).representation());
+        assertEquals(Variant.Representation.GENERIC, new Variant(6, 9, 10, true).representation());
+        assertNull(new Variant(6, 9, 10, true).codeSpace());
+    }
+
+    // =========================================================================
+    // 2. TEST SIN COLORES REPETIDOS
+    // =========================================================================
+    @Test
+    public void testSinRepetidos() {
+        Variant variant = new Variant(6, 4, 10, false);
+        CandidateSet set = new CandidateSet(variant.codeSpace());
+        set.retainAllowed(variant);
+
+        assertEquals(360, set.cardinality(), "6 x 5 x 4 x 3 códigos sin repetir");
+        assertTrue(variant.isAllowed(PackedScorer.pack(new int[]{0, 1, 2, 3})));
+        assertFalse(variant.isAllowed(PackedScorer.pack(new int[]{0, 1, 0, 3})));
+        assertThrows(IllegalArgumentException.class, () -> new Variant(3, 4, 10, false));
+    }
+
+    @Test
+    public void testSecretoSinRepetidos() {
+        Variant variant = new Variant(10, 8, 12, false);
+        MasterMindLogic logic = new MasterMindLogic(variant, paleta(10), etiquetas(10));
+
+        for (int i = 0; i < 50; i++) {
+            Set<Color> colores = new HashSet<>(java.util.List.of(logic.generateSecret(8)));
+            assertEquals(8, colores.size(), "Ningún color repetido en el secreto");
+            GameSession session = logic.newSession(SecretGenerator.random());
+            assertTrue(variant.isAllowed(session.secret()));
+        }
+    }
+
+    // =========================================================================
+    // 3. TEST DE LÓGICA CON TODAS LAS REPRESENTACIONES
+    // =========================================================================
+    @Test
+    public void testAciertoEnTodasLasRepresentaciones() {
+        int[][] sizes = {{6, 4}, {8, 6}, {10, 8}, {4, 10}};
+        for (int[] size : sizes) {
+            Color[] palette = paleta(size[0]);
+            Color[] secret = new Color[size[1]];
+            for (int i = 0; i < secret.length; i++) {
+                secret[i] = palette[(i * 3) % palette.length];
+            }
+            MasterMindLogic logic = new MasterMindLogic(new Variant(size[0], size[1], 10, true), palette,
+                    etiquetas(size[0])) {
+                @Override
+                public Color[] generateSecret(int secretLength) {
+                    return secret;
+                }
+            };
+
+            MasterMindLogic.Result result = logic.checkGuess(secret);
+
+            assertEquals(size[1], result.blacks, "Todas negras en " + logic.getVariant());
+            assertEquals(0, result.whites);
+        }
+    }
+
+    // =========================================================================
+    // 4. TEST DE TAMAÑOS EN EL LÍMITE
+    // =========================================================================
+    @Test
+    public void testTamanosEnElLimite() {
+        // 14^8 cabe en un int; 15^8 y 16^8 se empaquetan pero no se pueden numerar
+        assertTrue(CodeSpace.fits(14, 8));
+        assertFalse(CodeSpace.fits(15, 8));
+        assertFalse(CodeSpace.fits(16, 8));
+        assertFalse(CodeSpace.fits(17, 4));
+        assertEquals(Variant.Representation.PACKED, new Variant(14, 8, 10, true).representation());
+
+        int[][] sizes = {{15, 8}, {16, 8}, {16, 9}, {17, 4}};
+        Variant.Representation[] esperadas = {Variant.Representation.PACKED, Variant.Representation.PACKED,
+                Variant.Representation.GENERIC, Variant.Representation.GENERIC};
+        for (int n = 0; n < sizes.length; n++) {
+            Variant variant = new Variant(sizes[n][0], sizes[n][1], 10, true);
+            assertEquals(esperadas[n], variant.representation(), variant.toString());
+            assertNull(variant.codeSpace());
+
+            Color[] palette = paleta(variant.colors());
+            Color[] secret = new Color[variant.pegs()];
+            for (int i = 0; i < secret.length; i++) {
+                secret[i] = palette[(i * 5) % palette.length];
+            }
+            MasterMindLogic logic = new MasterMindLogic(variant, palette, etiquetas(variant.colors())) {
+                @Override
+                public Color[] generateSecret(int secretLength) {
+                    return secret;
+                }
+            };
+            assertNull(logic.getCodeSpace());
+            assertNull(logic.getScoreTable());
+            assertEquals(variant.pegs(), logic.checkGuess(secret).blacks, "Todas negras en " + variant);
+        }
+    }
+}